@@ -40,6 +40,22 @@ public interface Geci {
      */
     Geci trace(final String fileName);
 
+    /**
+     * <p>Instruct the framework to create a trace file for this instance
+     * the same way as {@link #trace(String)} does, but the trace is written
+     * into the file while the code generation runs, and only a bounded
+     * number of trace nodes is kept in memory. Use this version when the
+     * project is large and keeping the whole trace in memory would need too
+     * much heap.</p>
+     *
+     * @param fileName the name of the file where the trace will be written.
+     * @param maxDepth the trace nodes deeper than this level are not
+     *                 recorded. Use {@link Integer#MAX_VALUE} to record all
+     *                 the nodes.
+     * @return {@code this}
+     */
+    Geci trace(final String fileName, final int maxDepth);
+
     /**
      * Instruct the framework to save a backup of the original source as well as the mdified source into a temporary
      * file so that some external tool can easily compare them.
@@ -306,7 +322,9 @@ public interface Geci {
      *
      * <p>Using this method the exception can be suppressed. In that
      * case having a non-processable binary file in the source directory
-     * will silently be ignored. </p>
+     * will silently be ignored. Files that start with bytes that
+     * cannot be text (zero bytes or invalid UTF-8) are not even
+     * collected in this case.</p>
      *
      * <p>Note that there is an inherent risk ignoring all files that
      * seem to be binary for the framework. It may happen that a file
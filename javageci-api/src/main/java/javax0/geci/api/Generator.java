@@ -109,4 +109,55 @@ public interface Generator {
     default void context(Context context) {
     }
 
+    /**
+     * Describe the configuration of the generator. The engine uses the
+     * description in incremental mode (see {@code
+     * javax0.geci.engine.Geci#incremental(String)}). A source that has
+     * not changed since the last run is skipped only if the registered
+     * generators and their configuration descriptions are the same as
+     * they were during the last run.
+     * <p>
+     * The returned string has to be different whenever the generator is
+     * configured differently in a way that may alter the generated
+     * code. Generators using the {@code configBuilder} generated code
+     * get an implementation that lists the values of the fields of the
+     * {@code Config} class.
+     * <p>
+     * The default implementation returns {@code null}, meaning that the
+     * configuration of the generator is not known. When any of the
+     * registered generators returns {@code null} then the engine does
+     * not skip any source in incremental mode.
+     *
+     * @return the description of the configuration or {@code null}
+     */
+    default String configuration() {
+        return null;
+    }
+
+    /**
+     * Generators can declare the markers that have to be present in a
+     * source file for the generator to do anything with it. For example
+     * a generator that works only on files that contain some special
+     * comment can return the start of the comment as a trigger.
+     * <p>
+     * When all the registered generators declare triggers then the
+     * framework scans the bytes of the files during the file collection
+     * and sources are created only for the files that contain at least
+     * one of the triggers. Files that do not contain any trigger are
+     * never read into memory and no generator is invoked on them. The
+     * triggers are matched as UTF-8 encoded byte sequences.
+     * <p>
+     * The default implementation returns {@code null}, meaning that the
+     * generator has to be invoked on every source. Generators that
+     * collect information from every source, or which recognize the
+     * sources they work on by other means (e.g. using reflection)
+     * should not declare triggers.
+     *
+     * @return the set of the trigger strings or {@code null} if the
+     * generator has to be invoked for every source
+     */
+    default java.util.Set<String> triggers() {
+        return null;
+    }
+
 }
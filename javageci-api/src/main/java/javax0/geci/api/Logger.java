@@ -1,11 +1,17 @@
 package javax0.geci.api;
 
+import java.util.function.Supplier;
+
 /**
  * <p>Interface that defines logging methods This is the type of the logger returned by the {@link Source#getLogger()}
  * method that the generators are required to use if and when they want to log messages. This special logging supports
  * log messages filtered not only by the conventional way as most of the loggers but also based on the source object
  * parameters. For example logs that are created for sources that were not changed, because all generated source was
  * already there may be suppressed.</p>
+ *
+ * <p>The methods that accept a {@link Supplier} create the message only if it is going to be logged. The default
+ * implementations call the supplier and pass the message to the formatting method; implementations override them to
+ * skip the supplier when the level is switched off.</p>
  */
 public interface Logger {
     void trace(String format, Object... params) ;
@@ -13,4 +19,24 @@ public interface Logger {
     void info(String format, Object... params);
     void warning(String format, Object... params);
     void error(String format, Object... params) ;
+
+    default void trace(Supplier<String> message) {
+        trace("%s", message.get());
+    }
+
+    default void debug(Supplier<String> message) {
+        debug("%s", message.get());
+    }
+
+    default void info(Supplier<String> message) {
+        info("%s", message.get());
+    }
+
+    default void warning(Supplier<String> message) {
+        warning("%s", message.get());
+    }
+
+    default void error(Supplier<String> message) {
+        error("%s", message.get());
+    }
 }
@@ -152,6 +152,47 @@ public interface Segment extends AutoCloseable {
      */
     Segment write(Segment segment);
 
+    /**
+     * Write many lines to the segment after the last line in one call.
+     *
+     * <p>The lines are already indented relative to each other and relative to the current indentation of the
+     * segment. They are not used as format strings, thus they may contain {@code %} characters. Blank lines are
+     * written as empty lines. The parameters of the segment, if there are any, are resolved in the lines the same
+     * way as in the case of {@link #write(String, Object...)}.
+     *
+     * <p>The default implementation writes the lines one by one. Implementations may add the lines in one step
+     * avoiding the per line overhead.
+     *
+     * @param lines the lines to be written. Nothing is written if {@code null}.
+     * @return {@code this}
+     */
+    default Segment writeLines(List<String> lines) {
+        if (lines != null) {
+            for (final var line : lines) {
+                if (line.trim().isEmpty()) {
+                    newline();
+                } else {
+                    write("%s", line);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Write a block of text to the segment after the last line. The block is split into lines at the {@code \n}
+     * and {@code \r\n} line terminators and the lines are written the same way as {@link #writeLines(List)} does.
+     *
+     * @param block the text to be written. Nothing is written if {@code null}.
+     * @return {@code this}
+     */
+    default Segment writeBlock(CharSequence block) {
+        if (block != null) {
+            writeLines(List.of(block.toString().split("\r?\n", -1)));
+        }
+        return this;
+    }
+
     /**
      * Insert a new line into the segment.
      *
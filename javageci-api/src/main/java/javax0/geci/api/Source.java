@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * A {@code Source} represents a source file in the project that the
@@ -150,6 +151,23 @@ public interface Source {
      */
     List<String> getLines();
 
+    /**
+     * <p>Get an object that is calculated from the lines of the source, calculating it first if it was not calculated
+     * yet. Different generators working on the same source can share the result of scanning the lines this way. For
+     * example the configuration written into comments is collected once for all the generators.</p>
+     *
+     * <p>The implementation in the engine keeps the calculated object until the lines of the source are modified. The
+     * default implementation does not cache anything, it calls the {@code calculator} every time.</p>
+     *
+     * @param key        identifies the object, similar to the key in {@link Context#get(Object, Supplier)}
+     * @param calculator calculates the object from the lines of the source. It must not return {@code null}.
+     * @param <T>        the type of the object
+     * @return the object associated with the key
+     */
+    default <T> T cached(Object key, Supplier<T> calculator) {
+        return calculator.get();
+    }
+
     /**
      * <p>A generator may decide to use the lines of the source as they
      * are without the help of the Source object. To signal this
@@ -0,0 +1,26 @@
+package javax0.geci.api;
+
+/**
+ * <p>A generator implementing this interface declares that its {@link
+ * Generator#process(Source)} method can be invoked concurrently from
+ * several threads, each invocation working on a different {@link
+ * Source} object.</p>
+ *
+ * <p>When the Geci object is configured to run parallel (see {@code
+ * javax0.geci.engine.Geci#parallelism(int)}) then the thread safe
+ * generators are invoked on the different sources in parallel. The
+ * phases are still executed one after the other: a phase starts only
+ * after all the generators finished the previous phase on all the
+ * sources. A single source is never processed by two threads at the
+ * same time. Generators that do not implement this interface are
+ * invoked serially, after the thread safe generators finished the
+ * phase.</p>
+ *
+ * <p>Generators that keep state shared between the sources (e.g.
+ * collecting information in a phase to be used in a later phase, or
+ * storing objects in the {@link Context}) have to take care of the
+ * synchronization of the shared state themselves before implementing
+ * this interface.</p>
+ */
+public interface ThreadSafe {
+}
@@ -0,0 +1,45 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.tools.CompoundParams;
+import javax0.geci.tools.CompoundParamsBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of parsing the parameter string of a {@code @Geci} annotation or a segment start line into compound
+ * parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompoundParamsBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private String line;
+
+    @Setup
+    public void setup() {
+        line = Inputs.parameterLine(size);
+    }
+
+    @Benchmark
+    public CompoundParams build() {
+        return new CompoundParamsBuilder(line).build();
+    }
+}
@@ -0,0 +1,149 @@
+package javax0.geci.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Synthetic inputs of the benchmarks.</p>
+ *
+ * <p>The inputs are generated deterministically so that the results of different runs and different builds can be
+ * compared. Every benchmark has a {@link Size} parameter and JMH runs each of them with all the sizes.</p>
+ */
+public final class Inputs {
+
+    /**
+     * The size of the synthetic input.
+     */
+    public enum Size {
+        /**
+         * A small class, like a simple data holder.
+         */
+        SMALL(10, 1),
+        /**
+         * A medium size class of a few thousand lines.
+         */
+        MEDIUM(250, 10),
+        /**
+         * A huge, most probably generated class.
+         */
+        HUGE(5_000, 100);
+
+        /**
+         * The number of fields and the number of methods in the generated class, also the number of keys in the
+         * parameters and templates.
+         */
+        public final int members;
+        /**
+         * The number of editor-fold segments in the generated class.
+         */
+        public final int segments;
+
+        Size(int members, int segments) {
+            this.members = members;
+            this.segments = segments;
+        }
+    }
+
+    private Inputs() {
+    }
+
+    /**
+     * Create the lines of a Java class that has {@code size.members} fields and getters and {@code size.segments}
+     * editor-fold segments named {@code segment0}, {@code segment1} and so on.
+     *
+     * @param size the size of the class
+     * @return the lines of the Java source
+     */
+    public static List<String> javaSource(Size size) {
+        final var lines = new ArrayList<String>();
+        lines.add("package javax0.geci.benchmarks.synthetic;");
+        lines.add("");
+        lines.add("import java.util.List;");
+        lines.add("");
+        lines.add("/**");
+        lines.add(" * Synthetic class used by the benchmarks.");
+        lines.add(" */");
+        lines.add("public class Synthetic {");
+        for (int i = 0; i < size.members; i++) {
+            lines.add("    private int field" + i + " = " + i + "; // field number " + i);
+        }
+        for (int i = 0; i < size.members; i++) {
+            lines.add("");
+            lines.add("    /* getter of the field " + i + " */");
+            lines.add("    public int getField" + i + "() {");
+            lines.add("        return field" + i + " + \"string literal\".length() + 'c';");
+            lines.add("    }");
+        }
+        for (int i = 0; i < size.segments; i++) {
+            lines.add("");
+            lines.add("    //<editor-fold id=\"segment" + i + "\" desc=\"generated code\">");
+            lines.add("    private final List<String> generated" + i + " = List.of(\"a\", \"b\");");
+            lines.add("    //</editor-fold>");
+        }
+        lines.add("}");
+        return lines;
+    }
+
+    /**
+     * Same as {@link #javaSource(Size)} but with different spacing and comments. The two sources are equal for a
+     * comparator that ignores the spaces and comments.
+     *
+     * @param size the size of the class
+     * @return the lines of the Java source
+     */
+    public static List<String> reformattedJavaSource(Size size) {
+        final var lines = new ArrayList<String>();
+        for (final var line : javaSource(size)) {
+            lines.add(line.replace("    ", "\t").replace(" = ", "=").replaceAll("//.*$", "/* moved comment */"));
+        }
+        return lines;
+    }
+
+    /**
+     * @param size the number of parameters
+     * @return parameters {@code key0=value0}, {@code key1=value1} and so on in this order
+     */
+    public static Map<String, String> parameters(Size size) {
+        final var map = new LinkedHashMap<String, String>();
+        for (int i = 0; i < size.members; i++) {
+            map.put("key" + i, "value" + i);
+        }
+        return map;
+    }
+
+    /**
+     * @param size the number of placeholders in the template
+     * @return a template text that references every key of {@link #parameters(Size)} once with some literal text
+     * around them
+     */
+    public static String template(Size size) {
+        final var sb = new StringBuilder();
+        for (int i = 0; i < size.members; i++) {
+            sb.append("public void set{{key").append(i).append("}}(final String {{key").append(i).append("}}) {\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param size the number of parameters
+     * @return an annotation parameter line that can be parsed by {@code CompoundParamsBuilder}
+     */
+    public static String parameterLine(Size size) {
+        final var sb = new StringBuilder("benchmark");
+        for (int i = 0; i < size.members; i++) {
+            switch (i % 3) {
+                case 0:
+                    sb.append(" key").append(i).append("=\"value ").append(i).append('"');
+                    break;
+                case 1:
+                    sb.append(" key").append(i).append("='value ").append(i).append('\'');
+                    break;
+                default:
+                    sb.append(" key").append(i).append("=value").append(i);
+            }
+        }
+        return sb.toString();
+    }
+}
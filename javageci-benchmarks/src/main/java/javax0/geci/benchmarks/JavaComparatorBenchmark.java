@@ -0,0 +1,59 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.javacomparator.Comparator;
+import javax0.geci.javacomparator.LexicalElement;
+import javax0.geci.javacomparator.lex.Lexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the Java aware comparator and the lexer it uses. The comparator runs after every code generation on
+ * every touched source to decide if the source has to be written back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaComparatorBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private List<String> source;
+    private List<String> reformatted;
+
+    @Setup
+    public void setup() {
+        source = Inputs.javaSource(size);
+        reformatted = Inputs.reformattedJavaSource(size);
+    }
+
+    @Benchmark
+    public LexicalElement[] lex() {
+        return new Lexer().apply(source);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return new Comparator().test(source, reformatted);
+    }
+
+    @Benchmark
+    public boolean compareCommentSensitive() {
+        return new Comparator().commentSensitive().test(source, reformatted);
+    }
+}
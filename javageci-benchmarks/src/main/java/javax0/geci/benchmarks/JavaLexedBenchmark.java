@@ -0,0 +1,71 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.engine.Source;
+import javax0.geci.lexeger.JavaLexed;
+import javax0.geci.lexeger.Lex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static javax0.geci.lexeger.LexpressionBuilder.match;
+
+/**
+ * Benchmark of the lexical find and replace. The benchmark finds the first and the last field declaration of the
+ * class and replaces every field declaration, one after the other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaLexedBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private String[] lines;
+    private Source source;
+
+    @Setup
+    public void setupLines() {
+        lines = Inputs.javaSource(size).toArray(new String[0]);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupSource() {
+        source = Source.mock(null).lines(lines).getSource();
+    }
+
+    @Benchmark
+    public boolean findLast() {
+        try (final var javaLexed = new JavaLexed(source)) {
+            return javaLexed.find(match("private int field" + (size.members - 1) + " =")).fromStart().result().matches;
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<String> replaceAll() {
+        try (final var javaLexed = new JavaLexed(source)) {
+            var result = javaLexed.find(match("private int")).fromStart().result();
+            while (result.matches) {
+                final var end = javaLexed.replace(result.start, result.end, Lex.of("protected long"));
+                result = javaLexed.find(match("private int")).fromIndex(end).result();
+            }
+        }
+        return source.getLines();
+    }
+}
@@ -0,0 +1,63 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.tools.GeciReflectionTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of collecting and sorting all the methods of a class. The small, medium and huge inputs are JDK classes
+ * with a few, several tens and over a hundred methods. {@link GeciReflectionTools} caches the sorted methods, thus
+ * {@link #getAllMethodsSorted()} drops the cache before every call and {@link #getAllMethodsSortedCached()} measures
+ * the lookup of the cached result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private Class<?> klass;
+
+    @Setup
+    public void setup() {
+        switch (size) {
+            case SMALL:
+                klass = Object.class;
+                break;
+            case MEDIUM:
+                klass = java.util.ArrayList.class;
+                break;
+            default:
+                klass = ConcurrentHashMap.class;
+        }
+    }
+
+    @Benchmark
+    public Method[] getAllMethodsSorted() {
+        GeciReflectionTools.invalidateCache();
+        return GeciReflectionTools.getAllMethodsSorted(klass);
+    }
+
+    @Benchmark
+    public Method[] getAllMethodsSortedCached() {
+        return GeciReflectionTools.getAllMethodsSorted(klass);
+    }
+}
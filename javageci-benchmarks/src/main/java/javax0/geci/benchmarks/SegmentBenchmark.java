@@ -0,0 +1,81 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.engine.Segment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of writing lines into a segment. The generators write all the generated code line by line through this
+ * method, many times with parameters and indentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        names = Inputs.parameters(size).keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public Segment write() {
+        final var segment = new Segment(4);
+        for (final var name : names) {
+            segment.write_r("public int get%s() {", name);
+            segment.write("return %s;", name);
+            segment.write_l("}");
+            segment.newline();
+        }
+        return segment;
+    }
+
+    @Benchmark
+    public Segment writeWithParameters() {
+        final var segment = new Segment(4);
+        for (final var name : names) {
+            segment.param("name", name, "type", "int");
+            segment.write_r("public {{type}} get{{name}}() {");
+            segment.write("return {{name}};");
+            segment.write_l("}");
+        }
+        return segment;
+    }
+
+    @Benchmark
+    public Segment writeMultiLine() {
+        final var segment = new Segment(4);
+        for (final var name : names) {
+            segment.write("public int get%s() {\n    return %s;\n}\n", name, name);
+        }
+        return segment;
+    }
+
+    @Benchmark
+    public Segment writeBlock() {
+        final var segment = new Segment(4);
+        for (final var name : names) {
+            segment.writeBlock("public int get" + name + "() {\n    return " + name + ";\n}\n");
+        }
+        return segment;
+    }
+}
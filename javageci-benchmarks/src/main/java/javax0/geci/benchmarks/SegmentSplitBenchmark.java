@@ -0,0 +1,53 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.api.SegmentSplitHelper;
+import javax0.geci.util.JavaSegmentSplitHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the regular expression based segment start and end line recognition. Every line of every source is
+ * matched when a segment is opened.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentSplitBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private List<String> source;
+    private SegmentSplitHelper helper;
+
+    @Setup
+    public void setup() {
+        source = Inputs.javaSource(size);
+        helper = new JavaSegmentSplitHelper();
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        for (final var line : source) {
+            final var matcher = helper.match(line);
+            blackhole.consume(matcher.isSegmentStart());
+            blackhole.consume(matcher.isSegmentEnd());
+        }
+    }
+}
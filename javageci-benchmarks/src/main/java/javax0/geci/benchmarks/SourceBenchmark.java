@@ -0,0 +1,69 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.engine.Source;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark of opening the segments of a source and merging the generated segments back into the source.</p>
+ *
+ * <p>A source caches the segments it opened, therefore a new mock source is created before each invocation. The time
+ * of the setup is not measured, but the invocation level setup has its own overhead that distorts the results of the
+ * {@code SMALL} input. Use them only to compare with other runs of the same benchmark.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private String[] lines;
+    private Source source;
+
+    @Setup
+    public void setupLines() {
+        final List<String> source = Inputs.javaSource(size);
+        lines = source.toArray(new String[0]);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupSource() {
+        source = Source.mock(null).lines(lines).getSource();
+    }
+
+    @Benchmark
+    public Source open() throws IOException {
+        for (int i = 0; i < size.segments; i++) {
+            source.open("segment" + i);
+        }
+        return source;
+    }
+
+    @Benchmark
+    public List<String> openAndConsolidate() throws IOException {
+        for (int i = 0; i < size.segments; i++) {
+            source.open("segment" + i).write("private final int generated = %d;", i);
+        }
+        source.consolidate();
+        return source.getLines();
+    }
+}
@@ -0,0 +1,61 @@
+package javax0.geci.benchmarks;
+
+import javax0.geci.tools.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@code {{key}}} placeholder resolution of the templates. The number of parameters and the number
+ * of placeholders in the template both grow with the size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Inputs.Size size;
+
+    private Map<String, String> parameters;
+    private String template;
+    private Template sut;
+    private Template.Compiled compiled;
+
+    @Setup
+    public void setup() {
+        parameters = Inputs.parameters(size);
+        template = Inputs.template(size);
+        sut = new Template(parameters);
+        compiled = Template.compile(template);
+    }
+
+    @Benchmark
+    public String resolve() {
+        return sut.resolve(template);
+    }
+
+    @Benchmark
+    public String createAndResolve() {
+        return new Template(parameters).resolve(template);
+    }
+
+    @Benchmark
+    public String render() {
+        return compiled.render(parameters);
+    }
+}
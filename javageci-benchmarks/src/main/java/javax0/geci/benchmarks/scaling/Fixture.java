@@ -0,0 +1,206 @@
+package javax0.geci.benchmarks.scaling;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>Writes a synthetic Maven project that the end-to-end benchmark runs the code generation on.</p>
+ *
+ * <p>The project has a {@code pom.xml}, {@code N} classes in {@code src/main/java} in packages of at most 100 classes
+ * and binary resources in {@code src/main/resources}. Every fifth class has a {@code /*!jamal} block. The Jamal
+ * generator rewrites the whole file, therefore these classes have no editor-fold. The other classes rotate through
+ * the {@code accessor}, {@code equals}, {@code builder} and {@code delegator} generators. Each of them has the {@code
+ * @Geci} annotation of the generator on the class or on the field it delegates to, and an empty editor-fold that the
+ * generator fills in. Every tenth class has a binary resource file.</p>
+ *
+ * <p>The content is deterministic, the same {@code N} always creates the same files.</p>
+ */
+public final class Fixture {
+    /**
+     * The package of the generated classes. The classes are in the sub packages {@code p0}, {@code p1} and so on.
+     */
+    public static final String PACKAGE = "javax0.geci.fixture";
+    private static final int CLASSES_PER_PACKAGE = 100;
+    private static final int BINARY_RESOURCE_SIZE = 4096;
+    private static final String[] GENERATORS = {"accessor", "equals", "builder", "delegator"};
+
+    private final Path root;
+    private final int classes;
+    private int files;
+
+    private Fixture(Path root, int classes) {
+        this.root = root;
+        this.classes = classes;
+    }
+
+    /**
+     * Write the project into the directory.
+     *
+     * @param root    the root directory of the project. It is created if it does not exist.
+     * @param classes the number of generated classes
+     * @return the number of files written into the source directories
+     * @throws IOException if a file cannot be written
+     */
+    public static int write(Path root, int classes) throws IOException {
+        final var fixture = new Fixture(root, classes);
+        fixture.write();
+        return fixture.files;
+    }
+
+    private void write() throws IOException {
+        Files.createDirectories(root);
+        Files.write(root.resolve("pom.xml"), List.of(
+            "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+            "    <modelVersion>4.0.0</modelVersion>",
+            "    <groupId>javax0.geci.fixture</groupId>",
+            "    <artifactId>fixture</artifactId>",
+            "    <version>1.0.0</version>",
+            "</project>"), StandardCharsets.UTF_8);
+        writeSource(PACKAGE, "Part", part());
+        final var random = new Random(classes);
+        for (int i = 0; i < classes; i++) {
+            final var packageName = PACKAGE + ".p" + i / CLASSES_PER_PACKAGE;
+            writeSource(packageName, "Class" + i, klass(packageName, i));
+            if (i % 10 == 0) {
+                final var bytes = new byte[BINARY_RESOURCE_SIZE];
+                random.nextBytes(bytes);
+                bytes[0] = 0;
+                write(directory("resources", packageName).resolve("resource" + i + ".bin"), bytes);
+            }
+        }
+    }
+
+    private Path directory(String javaOrResources, String packageName) {
+        return root.resolve("src/main/" + javaOrResources + "/" + packageName.replace('.', '/'));
+    }
+
+    private void writeSource(String packageName, String className, List<String> lines) throws IOException {
+        final var content = String.join("\n", lines) + "\n";
+        write(directory("java", packageName).resolve(className + ".java"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void write(Path file, byte[] bytes) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+        files++;
+    }
+
+    private static List<String> part() {
+        return List.of(
+            "package " + PACKAGE + ";",
+            "",
+            "public class Part {",
+            "    public int size() {",
+            "        return 0;",
+            "    }",
+            "",
+            "    public String describe(String prefix, int depth) {",
+            "        return prefix + depth;",
+            "    }",
+            "",
+            "    public void reset() {",
+            "    }",
+            "}");
+    }
+
+    private static List<String> klass(String packageName, int i) {
+        final var jamal = i % 5 == 4;
+        final var generator = jamal ? null : GENERATORS[i % GENERATORS.length];
+        final var delegator = "delegator".equals(generator);
+        final var lines = new ArrayList<String>();
+        lines.add("package " + packageName + ";");
+        lines.add("");
+        lines.add("import javax0.geci.annotations.Geci;");
+        lines.add("");
+        lines.add("import java.util.List;");
+        lines.add("");
+        if (generator != null && !delegator) {
+            lines.add("@Geci(\"" + generator + "\")");
+        }
+        lines.add("public class Class" + i + " {");
+        lines.add("    private int count;");
+        lines.add("    private String name;");
+        lines.add("    private List<String> items;");
+        lines.add("    private long id" + i + ";");
+        if (delegator) {
+            lines.add("    @Geci(\"delegator\")");
+            lines.add("    private " + PACKAGE + ".Part part;");
+        }
+        lines.add("");
+        lines.add("    public int count() {");
+        lines.add("        return count + " + i + ";");
+        lines.add("    }");
+        if (jamal) {
+            lines.add("");
+            lines.add("    /*!jamal");
+            lines.add("{%@for $name in (alpha,beta,gamma)=");
+            lines.add("    public static final String $name = \"$name" + i + "\";%}");
+            lines.add("    */");
+            lines.add("    //__END__");
+        } else {
+            lines.add("");
+            lines.add("    //<editor-fold id=\"" + generator + "\">");
+            lines.add("    //</editor-fold>");
+        }
+        lines.add("}");
+        return lines;
+    }
+
+    /**
+     * Compile the Java sources of the project into {@code target/classes}. The classes are needed because the
+     * generators use reflection on the compiled classes. The class path of the compilation is the class path of the
+     * current JVM, which contains the {@code @Geci} annotation.
+     *
+     * @param root the root directory of the project
+     * @return the directory of the compiled classes
+     * @throws IOException if the sources cannot be listed or the compilation fails
+     */
+    public static Path compile(Path root) throws IOException {
+        final var compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("There is no Java compiler available, run the benchmark with a JDK");
+        }
+        final var classes = root.resolve("target/classes");
+        Files.createDirectories(classes);
+        final List<Path> sources;
+        try (final Stream<Path> paths = Files.walk(root.resolve("src/main/java"))) {
+            sources = paths.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+        final var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (final var fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(classes.toFile()));
+            final var options = List.of("-classpath", System.getProperty("java.class.path"), "-proc:none");
+            final var units = fileManager.getJavaFileObjectsFromPaths(sources);
+            if (!compiler.getTask(null, fileManager, diagnostics, options, null, units).call()) {
+                throw new IOException("The fixture cannot be compiled: " + diagnostics.getDiagnostics());
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Delete the project directory recursively.
+     *
+     * @param root the root directory of the project
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void delete(Path root) throws IOException {
+        try (final Stream<Path> paths = Files.walk(root)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
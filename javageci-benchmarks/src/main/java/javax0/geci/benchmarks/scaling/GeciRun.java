@@ -0,0 +1,58 @@
+package javax0.geci.benchmarks.scaling;
+
+import javax0.geci.accessor.Accessor;
+import javax0.geci.builder.Builder;
+import javax0.geci.delegator.Delegator;
+import javax0.geci.engine.Geci;
+import javax0.geci.equals.Equals;
+import javax0.geci.jamal.JamalGenerator;
+
+import java.io.IOException;
+
+/**
+ * <p>One code generation run on the fixture project.</p>
+ *
+ * <p>The generators find the classes of the sources calling {@code Class.forName()}, therefore this class is loaded
+ * by {@link ScalingBenchmark} in a class loader that sees the compiled classes of the fixture as well as the
+ * classes of Java::Geci. The method {@link #generate(String)} is invoked reflectively and returns only primitive
+ * values so that no class is shared between the class loaders.</p>
+ */
+public final class GeciRun {
+
+    private GeciRun() {
+    }
+
+    /**
+     * <p>Run the code generation on the fixture.</p>
+     *
+     * <p>The Jamal generator rewrites the whole file and the order of the generators registered in one {@code Geci}
+     * object is not defined. A Java generator opening its segment on a source after the Jamal generator rewrote it
+     * fails, therefore the Jamal generator runs in a second {@code Geci} object, the same way it is configured in
+     * real projects. The Jamal generator declares its trigger, so the second run reads only the files that contain
+     * Jamal blocks.</p>
+     *
+     * @param root the root directory of the fixture project
+     * @return three values: {@code 1} if the code generation modified any source, otherwise {@code 0}, the number of
+     * files read and the number of files written
+     * @throws IOException when the code generation throws it
+     */
+    public static long[] generate(String root) throws IOException {
+        final var java = new Geci()
+            .log(Geci.NONE)
+            .source(root + "/src/main/java")
+            .source(root + "/src/main/resources")
+            .ignoreBinary()
+            .register(Accessor.builder().build())
+            .register(Equals.builder().build())
+            .register(Builder.builder().build())
+            .register(Delegator.builder().build());
+        final var jamal = new Geci()
+            .log(Geci.NONE)
+            .source(root + "/src/main/java")
+            .register(new JamalGenerator());
+        final var modified = java.generate() | jamal.generate();
+        return new long[]{modified ? 1 : 0,
+            java.metrics().filesRead() + jamal.metrics().filesRead(),
+            java.metrics().filesWritten() + jamal.metrics().filesWritten()};
+    }
+}
@@ -0,0 +1,123 @@
+package javax0.geci.benchmarks.scaling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>End-to-end benchmark of {@code new Geci().register(...).generate()} on synthetic projects of growing size.</p>
+ *
+ * <p>For each size the benchmark writes a {@link Fixture} project into a temporary directory, compiles it and runs
+ * the code generation on it twice. The first run generates the code into all the editor-folds and writes the
+ * sources. The second run finds everything up to date, which is the usual case during a build. For each run the
+ * benchmark prints the wall clock time, the throughput in files per second and the peak heap usage.</p>
+ *
+ * <p>The sizes are given on the command line, the default is 100, 1000 and 10000 classes:</p>
+ *
+ * <pre>{@code
+ *   java -cp javageci-benchmarks/target/benchmarks.jar javax0.geci.benchmarks.scaling.ScalingBenchmark 100 1000 10000
+ * }</pre>
+ *
+ * <p>The peak heap is the sum of the peak usages of the heap memory pools, which were reset before the run. The pools
+ * may reach their peaks at different times, so the value is an upper estimate. Run the benchmark with the same
+ * {@code -Xmx} and garbage collector when comparing the results of different builds.</p>
+ */
+public final class ScalingBenchmark {
+    private static final int[] DEFAULT_SIZES = {100, 1_000, 10_000};
+
+    private ScalingBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final var sizes = args.length == 0 ? DEFAULT_SIZES : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        System.out.println(String.format(Locale.ROOT, "%8s %8s %-9s %10s %12s %8s %8s %14s",
+            "classes", "files", "run", "seconds", "files/s", "read", "written", "peak heap MB"));
+        for (final var size : sizes) {
+            final var root = Files.createTempDirectory("geci-fixture-" + size + "-");
+            try {
+                final var files = Fixture.write(root, size);
+                final var classes = Fixture.compile(root);
+                try (final var loader = isolatedLoader(classes)) {
+                    run(loader, root, size, files, "generate");
+                    run(loader, root, size, files, "up-to-date");
+                }
+            } finally {
+                Fixture.delete(root);
+            }
+        }
+    }
+
+    private static void run(ClassLoader loader, Path root, int size, int files, String name) throws Exception {
+        System.gc();
+        resetPeakHeap();
+        final var thread = Thread.currentThread();
+        final var contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        final long[] result;
+        final var start = System.nanoTime();
+        try {
+            result = (long[]) loader.loadClass(GeciRun.class.getName())
+                .getMethod("generate", String.class)
+                .invoke(null, root.toString());
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        final var seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.ROOT, "%8d %8d %-9s %10.3f %12.1f %8d %8d %14.1f",
+            size, files, name, seconds, files / seconds, result[1], result[2], peakHeap() / (1024.0 * 1024.0)));
+    }
+
+    /**
+     * Create a class loader that loads the classes of the class path and the compiled fixture classes. The parent is
+     * the platform class loader so that the Java::Geci classes are loaded again by this loader and {@code
+     * Class.forName()} called from them finds the fixture classes.
+     */
+    private static URLClassLoader isolatedLoader(Path classes) throws MalformedURLException {
+        final List<URL> urls = new ArrayList<>();
+        for (final var entry : System.getProperty("java.class.path").split(java.io.File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                urls.add(Path.of(entry).toUri().toURL());
+            }
+        }
+        urls.add(classes.toUri().toURL());
+        return new URLClassLoader("geci-fixture", urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        final var pools = new ArrayList<MemoryPoolMXBean>();
+        for (final var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static void resetPeakHeap() {
+        for (final var pool : heapPools()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (final var pool : heapPools()) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
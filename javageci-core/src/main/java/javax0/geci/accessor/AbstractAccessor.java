@@ -125,6 +125,24 @@ public class AbstractAccessor extends AbstractFilteredFieldsGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "access=" + config.access,
+            "filter=" + config.filter,
+            "getter=" + config.getter,
+            "getterNameGenerator=" + config.getterNameGenerator,
+            "getterReturnValueDecorator=" + config.getterReturnValueDecorator,
+            "mnemonic=" + config.mnemonic,
+            "only=" + config.only,
+            "processAllClasses=" + config.processAllClasses,
+            "setter=" + config.setter,
+            "setterNameGenerator=" + config.setterNameGenerator
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder access(String access) {
             config.access = access;
@@ -1,12 +1,13 @@
 package javax0.geci.accessor;
 
 import javax0.geci.api.Segment;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 
 import java.lang.reflect.Field;
 
 @AnnotationBuilder()
-public class Accessor extends AbstractAccessor {
+public class Accessor extends AbstractAccessor implements ThreadSafe {
     public Accessor(){
         config.mnemonic = "accessor";
     }
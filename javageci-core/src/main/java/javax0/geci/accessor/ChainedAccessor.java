@@ -1,13 +1,14 @@
 package javax0.geci.accessor;
 
 import javax0.geci.api.Segment;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.tools.GeciReflectionTools;
 
 import java.lang.reflect.Field;
 
 import static javax0.geci.tools.CaseTools.ucase;
 
-public class ChainedAccessor extends AbstractAccessor {
+public class ChainedAccessor extends AbstractAccessor implements ThreadSafe {
 
     public ChainedAccessor(){
         config.setterNameGenerator = name -> "with" + ucase(name);
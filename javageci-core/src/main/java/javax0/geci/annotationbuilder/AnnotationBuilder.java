@@ -135,6 +135,16 @@ public class AnnotationBuilder extends AbstractJavaGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "in=" + config.in,
+            "set=" + config.set
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder in(String in) {
             config.in = in;
@@ -2,6 +2,7 @@ package javax0.geci.builder;
 
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractFilteredFieldsGenerator;
 import javax0.geci.tools.CaseTools;
@@ -38,7 +39,7 @@ import static javax0.geci.api.CompoundParams.toBoolean;
  *
  */
 @AnnotationBuilder()
-public class Builder extends AbstractFilteredFieldsGenerator {
+public class Builder extends AbstractFilteredFieldsGenerator implements ThreadSafe {
 
     /**
      * - Config
@@ -409,6 +410,24 @@ public class Builder extends AbstractFilteredFieldsGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "aggregatorMethod=" + config.aggregatorMethod,
+            "argumentVariable=" + config.argumentVariable,
+            "buildMethod=" + config.buildMethod,
+            "builderFactoryMethod=" + config.builderFactoryMethod,
+            "builderName=" + config.builderName,
+            "checkNullInAggregator=" + config.checkNullInAggregator,
+            "factory=" + config.factory,
+            "filter=" + config.filter,
+            "generatedAnnotation=" + config.generatedAnnotation,
+            "setterPrefix=" + config.setterPrefix
+        );
+    }
+
     public class ConfBuilder implements javax0.geci.api.GeneratorBuilder {
         public ConfBuilder aggregatorMethod(String aggregatorMethod) {
             config.aggregatorMethod = aggregatorMethod;
@@ -3,6 +3,7 @@ package javax0.geci.cloner;
 import javax0.geci.annotations.Generated;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractFilteredFieldsGenerator;
 import javax0.geci.tools.CompoundParams;
@@ -23,7 +24,7 @@ import static javax0.geci.tools.CaseTools.ucase;
  * //end snippet
  */
 @AnnotationBuilder
-public class Cloner extends AbstractFilteredFieldsGenerator {
+public class Cloner extends AbstractFilteredFieldsGenerator implements ThreadSafe {
 
     public Cloner() {
         declaredOnly = false;
@@ -217,6 +218,24 @@ public class Cloner extends AbstractFilteredFieldsGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "cloneMethod=" + config.cloneMethod,
+            "cloneMethodProtection=" + config.cloneMethodProtection,
+            "cloneWith=" + config.cloneWith,
+            "copyCallsSuper=" + config.copyCallsSuper,
+            "copyMethod=" + config.copyMethod,
+            "copyMethodProtection=" + config.copyMethodProtection,
+            "declaredOnly=" + config.declaredOnly,
+            "filter=" + config.filter,
+            "generatedAnnotation=" + config.generatedAnnotation,
+            "superCopyMethod=" + config.superCopyMethod
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder cloneMethod(String cloneMethod) {
             config.cloneMethod = cloneMethod;
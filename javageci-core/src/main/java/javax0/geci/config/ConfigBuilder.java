@@ -3,12 +3,13 @@ package javax0.geci.config;
 import javax0.geci.api.GeciException;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractJavaGenerator;
 import javax0.geci.tools.CaseTools;
 import javax0.geci.tools.CompoundParams;
 import javax0.geci.tools.GeciReflectionTools;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -24,7 +25,7 @@ import static javax0.geci.api.CompoundParams.toBoolean;
  * To use this generator the class has to contain a {@code private static class} named {@code Config}.
  */
 @AnnotationBuilder
-public class ConfigBuilder extends AbstractJavaGenerator {
+public class ConfigBuilder extends AbstractJavaGenerator implements ThreadSafe {
 
     private static class Config {
         private String filter = "private & !static";
@@ -62,6 +63,9 @@ public class ConfigBuilder extends AbstractJavaGenerator {
             if (toBoolean(local.generateImplementedKeys)) {
                 generateConfigKeySet(segment, fields);
             }
+            if (javax0.geci.api.Generator.class.isAssignableFrom(klass)) {
+                generateConfiguration(segment, allDeclaredFields);
+            }
             startBuilderClass(segment, klass);
             allDeclaredFields.forEach(field -> generateBuilderMethod(segment, klass, configClass, field));
             generateMnemonicConfiguration(segment, local);
@@ -121,6 +125,32 @@ public class ConfigBuilder extends AbstractJavaGenerator {
                 .write_l("}");
     }
 
+    /**
+     * Generate the method {@code configuration()} that describes the configuration of the generator for the
+     * incremental mode of the engine. The description contains the mnemonic and the values of all the fields of the
+     * configuration.
+     *
+     * @param segment           where the code is written
+     * @param allDeclaredFields all declared fields of the configuration class
+     */
+    private void generateConfiguration(Segment segment, List<Field> allDeclaredFields) {
+        final var fields = allDeclaredFields.stream()
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .collect(Collectors.toList());
+        segment.newline()
+                .write("@Override")
+                .write_r("public String configuration() {")
+                .write_r("return String.join(\"\\n\",")
+                .write("\"mnemonic=\" + mnemonic()%s", fields.isEmpty() ? "" : ",");
+        for (int i = 0; i < fields.size(); i++) {
+            final var name = fields.get(i).getName();
+            segment.write("\"%s=\" + config.%s%s", name, name, i < fields.size() - 1 ? "," : "");
+        }
+        segment.write_l(");")
+                .write_l("}")
+                .newline();
+    }
+
     private void generateLocalConfigMethod(Segment segment, List<Field> allDeclaredFields, List<Field> fields, Class<?> configClass) {
         segment.write_r("private Config {{localConfig}}(CompoundParams params){")
                 .write("final var local = new Config();");
@@ -222,11 +252,11 @@ public class ConfigBuilder extends AbstractJavaGenerator {
                 field -> {
                     var local = localConfig(
                             new CompoundParams(
-                                    GeciReflectionTools.getParameters(field, mnemonic()
+                                    annotations().getParameters(field, mnemonic()
                                     ),
                                     params)
                     );
-                    return Selector.compile(local.filter).match(field)
+                    return SelectorCache.compile(local.filter).match(field)
                             &&
                             !Modifier.isFinal(field.getModifiers())
                             &&
@@ -262,6 +292,22 @@ public class ConfigBuilder extends AbstractJavaGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "buildMethod=" + config.buildMethod,
+            "builderFactoryMethod=" + config.builderFactoryMethod,
+            "builderName=" + config.builderName,
+            "configAccess=" + config.configAccess,
+            "configurableMnemonic=" + config.configurableMnemonic,
+            "filter=" + config.filter,
+            "generateImplementedKeys=" + config.generateImplementedKeys,
+            "localConfigMethod=" + config.localConfigMethod
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder buildMethod(String buildMethod) {
             config.buildMethod = buildMethod;
@@ -3,12 +3,13 @@ package javax0.geci.delegator;
 import javax0.geci.annotations.Generated;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractFilteredFieldsGenerator;
 import javax0.geci.tools.CompoundParams;
 import javax0.geci.tools.GeciReflectionTools;
 import javax0.geci.tools.MethodTool;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -18,7 +19,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @AnnotationBuilder
-public class Delegator extends AbstractFilteredFieldsGenerator {
+public class Delegator extends AbstractFilteredFieldsGenerator implements ThreadSafe {
     private static class Config {
         /**
          * - Config
@@ -64,7 +65,7 @@ private static final boolean NO_ABSTRACT = true;
         final var name = field.getName();
         final var local = localConfig(params);
         final List<Method> methods = Arrays.stream(GeciReflectionTools.getDeclaredMethodsSorted(field.getType()))
-                .filter(Selector.compile(local.methods)::match)
+                .filter(SelectorCache.compile(local.methods)::match)
                 .collect(Collectors.toList());
         for (final var method : methods) {
             if (!manuallyCoded(klass, method)) {
@@ -118,6 +119,17 @@ private static final boolean NO_ABSTRACT = true;
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "filter=" + config.filter,
+            "generatedAnnotation=" + config.generatedAnnotation,
+            "methods=" + config.methods
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder filter(String filter) {
             config.filter = filter;
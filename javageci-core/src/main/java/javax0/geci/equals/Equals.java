@@ -6,9 +6,8 @@ import javax0.geci.api.Source;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractFilteredFieldsGenerator;
 import javax0.geci.tools.CompoundParams;
-import javax0.geci.tools.GeciAnnotationTools;
 import javax0.geci.tools.GeciReflectionTools;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
@@ -93,7 +92,7 @@ public class Equals extends AbstractFilteredFieldsGenerator {
         var equalsMethod = getMethodOrNull(klass, "equals", Object.class);
         var subclassingAllowed = global.is("subclass", config.subclass);
         var usingSuper = global.is("useSuper", config.useSuper);
-        generateEquals = equalsMethod == null || GeciAnnotationTools.isGenerated(equalsMethod);
+        generateEquals = equalsMethod == null || annotations().isGenerated(equalsMethod);
         writeGenerated(segment, config.generatedAnnotation);
         segment.write("@Override")
                 .write_r("public %sboolean equals(Object o) {", subclassingAllowed ? "final " : "")
@@ -233,15 +232,15 @@ public class Equals extends AbstractFilteredFieldsGenerator {
         final var gid = global.get("id");
         try( final var segment = source.open(gid)) {
             var hashCodeMethod = getMethodOrNull(klass, "hashCode");
-            var generateHashCode = hashCodeMethod == null || GeciAnnotationTools.isGenerated(hashCodeMethod);
+            var generateHashCode = hashCodeMethod == null || annotations().isGenerated(hashCodeMethod);
             if (generateHashCode) {
                 writeGenerated(segment, config.generatedAnnotation);
                 segment.write("@Override");
                 segment.write_r("public int hashCode() {");
                 final var hashFields = Arrays.stream(fields).filter(field -> {
-                        final var params = new CompoundParams(GeciReflectionTools.getParameters(field, mnemonic()), global);
+                        final var params = new CompoundParams(annotations().getParameters(field, mnemonic()), global);
                         final var hashFilter = params.get("hashFilter", params.get("filter", config.hashFilter));
-                        return Selector.compile(hashFilter).match(field);
+                        return SelectorCache.compile(hashFilter).match(field);
                     }
                 ).toArray(Field[]::new);
                 var usingSuper = shouldUseSuper(klass, global);
@@ -266,7 +265,7 @@ public class Equals extends AbstractFilteredFieldsGenerator {
         }
         segment.newline();
         for (final var field : fields) {
-            var local = GeciReflectionTools.getParameters(field, mnemonic());
+            var local = annotations().getParameters(field, mnemonic());
             var params = new CompoundParams(local, global);
             var primitive = field.getType().isPrimitive();
             final var name = field.getName();
@@ -344,6 +343,21 @@ public class Equals extends AbstractFilteredFieldsGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "filter=" + config.filter,
+            "generatedAnnotation=" + config.generatedAnnotation,
+            "hashFilter=" + config.hashFilter,
+            "notNull=" + config.notNull,
+            "subclass=" + config.subclass,
+            "useObjects=" + config.useObjects,
+            "useSuper=" + config.useSuper
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder filter(String filter) {
             config.filter = filter;
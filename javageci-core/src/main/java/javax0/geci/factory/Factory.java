@@ -3,6 +3,7 @@ package javax0.geci.factory;
 import javax0.geci.annotations.Generated;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.tools.AbstractFilteredFieldsGenerator;
 import javax0.geci.tools.CompoundParams;
 import javax0.geci.tools.GeciReflectionTools;
@@ -10,7 +11,7 @@ import javax0.geci.tools.GeciReflectionTools;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 
-public class Factory extends AbstractFilteredFieldsGenerator {
+public class Factory extends AbstractFilteredFieldsGenerator implements ThreadSafe {
     private Class<? extends Annotation> generatedAnnotation = Generated.class;
     private String filter = "private & !static & !final";
     private String builderName = "Builder";
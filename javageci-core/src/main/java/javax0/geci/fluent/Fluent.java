@@ -41,12 +41,12 @@ public class Fluent extends AbstractJavaGenerator {
             }
             builder.optimize();
             LOG.debug("Node structure before optimization.");
-            LOG.debug("" + new Tree(Node.ONCE, builder.getNodes()));
+            LOG.debug(() -> "" + new Tree(Node.ONCE, builder.getNodes()));
             LOG.debug("Node structure after optimization.");
-            LOG.debug("" + new Tree(Node.ONCE, builder.getNodes()));
+            LOG.debug(() -> "" + new Tree(Node.ONCE, builder.getNodes()));
             var generatedCode = new ClassBuilder(builder).build();
             try (var segment = source.open(global.get("id"))) {
-                segment.write(generatedCode);
+                segment.writeBlock(generatedCode);
             }
         } catch (InvocationTargetException ite) {
             throw (Exception) ite.getCause();
@@ -2,6 +2,7 @@ package javax0.geci.iterate;
 
 import javax0.geci.api.GeciException;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.templated.Context;
 import javax0.geci.templated.Triplet;
@@ -61,7 +62,7 @@ import java.util.regex.Pattern;
 
 @AnnotationBuilder
 @javax0.geci.core.annotations.Iterate
-public class Iterate extends AbstractJavaGenerator {
+public class Iterate extends AbstractJavaGenerator implements ThreadSafe {
     private static final Pattern editorFold = Pattern.compile("\\s*//\\s*<\\s*editor-fold.*?\\sid\\s*=\\s*\"(.*?)\".*");
 
     private static class Config {
@@ -372,6 +373,24 @@ public class Iterate extends AbstractJavaGenerator {
         return implementedKeys;
     }
 
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "define=" + config.define,
+            "editorFoldLine=" + config.editorFoldLine,
+            "escapeLine=" + config.escapeLine,
+            "loopLine=" + config.loopLine,
+            "sep1=" + config.sep1,
+            "sep1Line=" + config.sep1Line,
+            "sep2=" + config.sep2,
+            "sep2Line=" + config.sep2Line,
+            "skipLine=" + config.skipLine,
+            "templateEndLine=" + config.templateEndLine,
+            "templateLine=" + config.templateLine
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder define(java.util.function.Consumer<javax0.geci.templated.Context> define) {
             config.define = define;
@@ -400,6 +400,14 @@ public class Jdocify extends AbstractJavaGenerator {
         return implementedKeys;
     }
 
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "processAllClasses=" + config.processAllClasses
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder processAllClasses(boolean processAllClasses) {
             config.processAllClasses = processAllClasses;
@@ -3,11 +3,12 @@ package javax0.geci.mapper;
 import javax0.geci.api.GeciException;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractJavaGenerator;
 import javax0.geci.tools.CompoundParams;
 import javax0.geci.tools.GeciReflectionTools;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
@@ -24,7 +25,7 @@ import java.util.function.Function;
  * in the Geci annotation of the class, or else it just tries to use the default constructor of the class.
  */
 @AnnotationBuilder
-public class Mapper extends AbstractJavaGenerator {
+public class Mapper extends AbstractJavaGenerator implements ThreadSafe {
 
     /**
      * - Config
@@ -86,9 +87,9 @@ public class Mapper extends AbstractJavaGenerator {
         final var fields = GeciReflectionTools.getAllFieldsSorted(klass);
         segment.write_r(getResourceString("tomap.template"));
         for (final var field : fields) {
-            final var params = GeciReflectionTools.getParameters(field, mnemonic());
+            final var params = annotations().getParameters(field, mnemonic());
             final var local = localConfig(new CompoundParams(params, global));
-            if (Selector.compile(local.filter).match(field)) {
+            if (SelectorCache.compile(local.filter).match(field)) {
                 final var name = field.getName();
                 if (hasToMap(field.getType())) {
                     segment.write("map.put(\"%s\", %s == null ? null : %s.toMap0(cache));", field2MapKey(name), name, name);
@@ -147,9 +148,9 @@ public class Mapper extends AbstractJavaGenerator {
             if (Modifier.isFinal(field.getModifiers())) {
                 continue;
             }
-            final var params = GeciReflectionTools.getParameters(field, mnemonic());
+            final var params = annotations().getParameters(field, mnemonic());
             final var local = localConfig(new CompoundParams(params, global));
-            if (Selector.compile(local.filter).match(field)) {
+            if (SelectorCache.compile(local.filter).match(field)) {
                 final var name = field.getName();
                 if (hasFromMap(field.getType())) {
                     segment.write("it.%s = %s.fromMap0(({{Map}}<String,Object>)map.get(\"%s\"),cache);",
@@ -192,6 +193,17 @@ public class Mapper extends AbstractJavaGenerator {
         return implementedKeys;
     }
 
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "factory=" + config.factory,
+            "field2MapKeyMapper=" + config.field2MapKeyMapper,
+            "filter=" + config.filter,
+            "generatedAnnotation=" + config.generatedAnnotation
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder factory(String factory) {
             config.factory = factory;
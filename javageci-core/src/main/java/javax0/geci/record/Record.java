@@ -3,6 +3,7 @@ package javax0.geci.record;
 import javax0.geci.api.GeciException;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.lexeger.JavaLexed;
 import javax0.geci.lexeger.Lex;
@@ -10,6 +11,7 @@ import javax0.geci.tools.AbstractFilteredFieldsGenerator;
 import javax0.geci.tools.CaseTools;
 import javax0.geci.tools.CompoundParams;
 import javax0.geci.tools.GeciReflectionTools;
+import javax0.geci.tools.SelectorCache;
 import javax0.refi.selector.Selector;
 
 import java.lang.reflect.Field;
@@ -68,11 +70,11 @@ import static javax0.geci.lexeger.LexpressionBuilder.zeroOrMore;
  * same name as the class.</p>
  */
 @AnnotationBuilder
-public class Record extends AbstractFilteredFieldsGenerator {
+public class Record extends AbstractFilteredFieldsGenerator implements ThreadSafe {
 
-    private static final Selector<?> NON_STATIC = Selector.compile("! static ");
-    private static final Selector<?> NON_FINAL__NON_STATIC = Selector.compile("!final & ! static ");
-    private static final Selector<?> VOID = Selector.compile("void");
+    private static final Selector<?> NON_STATIC = SelectorCache.compile("! static ");
+    private static final Selector<?> NON_FINAL__NON_STATIC = SelectorCache.compile("!final & ! static ");
+    private static final Selector<?> VOID = SelectorCache.compile("void");
 
     private static class Config {
         private String filter;
@@ -261,7 +263,7 @@ public class Record extends AbstractFilteredFieldsGenerator {
         }
     }
 
-    private static final Selector<?> NOT_FINAL = Selector.compile("!final");
+    private static final Selector<?> NOT_FINAL = SelectorCache.compile("!final");
 
     /**
      * If the class is not final then insert the {@code final} modifier
@@ -321,6 +323,15 @@ public class Record extends AbstractFilteredFieldsGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "filter=" + config.filter
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder filter(String filter) {
             config.filter = filter;
@@ -253,6 +253,29 @@ public class Repeated extends AbstractJavaGenerator {
     public java.util.Set<String> implementedKeys() {
         return implementedKeys;
     }
+
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "ctx=" + config.ctx,
+            "define=" + config.define,
+            "defineMap=" + config.defineMap,
+            "end=" + config.end,
+            "matchLine=" + config.matchLine,
+            "resolver=" + config.resolver,
+            "resolverMap=" + config.resolverMap,
+            "selector=" + config.selector,
+            "start=" + config.start,
+            "template=" + config.template,
+            "templateEnd=" + config.templateEnd,
+            "templateStart=" + config.templateStart,
+            "templatesMap=" + config.templatesMap,
+            "values=" + config.values,
+            "valuesSupplier=" + config.valuesSupplier
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder ctx(javax0.geci.templated.Context ctx) {
             config.ctx = ctx;
@@ -8,8 +8,8 @@ import javax0.geci.core.annotations.AnnotationBuilder;
 import javax0.geci.tools.AbstractJavaGenerator;
 import javax0.geci.tools.CompoundParams;
 import javax0.geci.tools.GeciReflectionTools;
+import javax0.geci.tools.SelectorCache;
 import javax0.geci.tools.TemplateLoader;
-import javax0.refi.selector.Selector;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -218,7 +218,7 @@ public class Templated extends AbstractJavaGenerator {
 
             } else {
                 var local = localConfig(global);
-                final var selector = Selector.compile(local.classFilter);
+                final var selector = SelectorCache.compile(local.classFilter);
                 final var selectedClasses = classes.stream()
                     .filter(selector::match)
                     .sorted(Comparator.comparing(Class::getName))
@@ -242,9 +242,9 @@ public class Templated extends AbstractJavaGenerator {
                                        List<Method> selectedMethods)
         throws Exception {
         for (final var method : methods) {
-            var params = new CompoundParams(GeciReflectionTools.getParameters(method, mnemonic()), global);
+            var params = new CompoundParams(annotations().getParameters(method, mnemonic()), global);
             var local = localConfig(params);
-            if (Selector.compile(local.methodFilter).match(method)) {
+            if (SelectorCache.compile(local.methodFilter).match(method)) {
                 selectedMethods.add(method);
                 process(source, klass, params, method, segment);
             }
@@ -258,9 +258,9 @@ public class Templated extends AbstractJavaGenerator {
                                       Field[] fields,
                                       List<Field> selectedFields) {
         for (final var field : fields) {
-            var params = new CompoundParams(GeciReflectionTools.getParameters(field, mnemonic()), global);
+            var params = new CompoundParams(annotations().getParameters(field, mnemonic()), global);
             var local = localConfig(params);
-            if (Selector.compile(local.fieldFilter).match(field)) {
+            if (SelectorCache.compile(local.fieldFilter).match(field)) {
                 selectedFields.add(field);
                 process(source, klass, params, field, segment);
             }
@@ -274,9 +274,9 @@ public class Templated extends AbstractJavaGenerator {
                                              Class[] classes,
                                              List<Class> selectedClasses) {
         for (final var memberClass : classes) {
-            var params = new CompoundParams(GeciReflectionTools.getParameters(memberClass, mnemonic()), global);
+            var params = new CompoundParams(annotations().getParameters(memberClass, mnemonic()), global);
             var local = localConfig(params);
-            if (Selector.compile(local.memberClassFilter).match(memberClass)) {
+            if (SelectorCache.compile(local.memberClassFilter).match(memberClass)) {
                 selectedClasses.add(memberClass);
                 process(source, klass, params, memberClass, segment);
             }
@@ -622,6 +622,55 @@ public class Templated extends AbstractJavaGenerator {
         return implementedKeys;
     }
 
+    @Override
+    public String configuration() {
+        return String.join("\n",
+            "mnemonic=" + mnemonic(),
+            "classFilter=" + config.classFilter,
+            "ctx=" + config.ctx,
+            "declaredOnly=" + config.declaredOnly,
+            "fieldFilter=" + config.fieldFilter,
+            "generatedAnnotation=" + config.generatedAnnotation,
+            "memberClassFilter=" + config.memberClassFilter,
+            "methodFilter=" + config.methodFilter,
+            "postprocess=" + config.postprocess,
+            "postprocessClass=" + config.postprocessClass,
+            "postprocessClassParams=" + config.postprocessClassParams,
+            "postprocessClassResolv=" + config.postprocessClassResolv,
+            "postprocessParams=" + config.postprocessParams,
+            "postprocessResolv=" + config.postprocessResolv,
+            "preprocess=" + config.preprocess,
+            "preprocessClass=" + config.preprocessClass,
+            "preprocessClassParams=" + config.preprocessClassParams,
+            "preprocessClassResolv=" + config.preprocessClassResolv,
+            "preprocessParams=" + config.preprocessParams,
+            "preprocessResolv=" + config.preprocessResolv,
+            "processClass=" + config.processClass,
+            "processClassParams=" + config.processClassParams,
+            "processClassResolv=" + config.processClassResolv,
+            "processClasses=" + config.processClasses,
+            "processClassesParams=" + config.processClassesParams,
+            "processClassesResolv=" + config.processClassesResolv,
+            "processField=" + config.processField,
+            "processFieldParams=" + config.processFieldParams,
+            "processFieldResolv=" + config.processFieldResolv,
+            "processFields=" + config.processFields,
+            "processFieldsParams=" + config.processFieldsParams,
+            "processFieldsResolv=" + config.processFieldsResolv,
+            "processMemberClass=" + config.processMemberClass,
+            "processMemberClassParams=" + config.processMemberClassParams,
+            "processMemberClassResolv=" + config.processMemberClassResolv,
+            "processMethod=" + config.processMethod,
+            "processMethodParams=" + config.processMethodParams,
+            "processMethodResolv=" + config.processMethodResolv,
+            "processMethods=" + config.processMethods,
+            "processMethodsParams=" + config.processMethodsParams,
+            "processMethodsResolv=" + config.processMethodsResolv,
+            "selector=" + config.selector,
+            "templatesMap=" + config.templatesMap
+        );
+    }
+
     public class Builder implements javax0.geci.api.GeneratorBuilder {
         public Builder classFilter(String classFilter) {
             config.classFilter = classFilter;
@@ -0,0 +1,99 @@
+package javax0.geci.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>Decide if a file is binary looking at the first block of the file only.</p>
+ *
+ * <p>A file is binary if the first block contains a zero byte or a byte sequence that is not valid UTF-8. The check
+ * works on the bytes of the file, no decoding into characters happens. Files that are not valid UTF-8 after the first
+ * block are not detected by the sniffer, they are detected when the source is read (see {@link
+ * Source.SourceIsBinary}).</p>
+ */
+class BinarySniffer {
+    static final int BLOCK_SIZE = 8192;
+
+    private BinarySniffer() {
+    }
+
+    /**
+     * @param path the file to check
+     * @return {@code true} if the start of the file shows that the file is binary. If the file cannot be read then the
+     * return value is {@code false}, the error will be reported when the file is read.
+     */
+    static boolean isBinary(Path path) {
+        try (final var in = Files.newInputStream(path)) {
+            final var bytes = in.readNBytes(BLOCK_SIZE);
+            return isBinary(bytes, bytes.length, in.read() == -1);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param bytes    the buffer containing the first block of the file
+     * @param length   the number of bytes in the buffer
+     * @param complete {@code true} if the buffer contains the whole file. If the buffer contains only the start of the
+     *                 file then a multi-byte UTF-8 sequence cut at the end of the buffer is not an error.
+     * @return {@code true} if the bytes contain a zero byte or invalid UTF-8 sequence
+     */
+    static boolean isBinary(byte[] bytes, int length, boolean complete) {
+        int i = 0;
+        while (i < length) {
+            final int b = bytes[i] & 0xFF;
+            if (b == 0) {
+                return true;
+            }
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            final int continuation;
+            int min = 0x80;
+            int max = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+                if (b == 0xE0) {
+                    min = 0xA0; // overlong encoding
+                } else if (b == 0xED) {
+                    max = 0x9F; // surrogates
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+                if (b == 0xF0) {
+                    min = 0x90; // overlong encoding
+                } else if (b == 0xF4) {
+                    max = 0x8F; // above U+10FFFF
+                }
+            } else {
+                return true;
+            }
+            if (i + continuation >= length) {
+                return complete || !isContinuation(bytes, i + 1, length, min, max);
+            }
+            if (!isContinuation(bytes, i + 1, i + 1 + continuation, min, max)) {
+                return true;
+            }
+            i += continuation + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Check the continuation bytes of a multi-byte sequence. The first continuation byte has to be between {@code min}
+     * and {@code max}, the others between {@code 0x80} and {@code 0xBF}.
+     */
+    private static boolean isContinuation(byte[] bytes, int from, int to, int min, int max) {
+        for (int k = from; k < to; k++) {
+            final int c = bytes[k] & 0xFF;
+            if (k == from ? c < min || c > max : (c & 0xC0) != 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
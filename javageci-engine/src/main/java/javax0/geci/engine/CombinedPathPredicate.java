@@ -0,0 +1,65 @@
+package javax0.geci.engine;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * <p>A set of path predicates combined into one, which matches a path if any of the predicates matches.</p>
+ *
+ * <p>The predicates created from regular expressions (see {@link Geci#only(String...)} and {@link
+ * Geci#ignore(String...)}) are compiled into a single regular expression, so that the absolute file name is calculated
+ * only once and matched in a single pass. Regular expressions that contain back references cannot be combined,
+ * because the group numbering would change. They are tested one by one along with the predicates that are not created
+ * from regular expressions.</p>
+ */
+class CombinedPathPredicate {
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+    private final Pattern pattern;
+    private final List<Predicate<Path>> others = new ArrayList<>();
+
+    CombinedPathPredicate(Collection<Predicate<Path>> predicates) {
+        final var regexes = new ArrayList<String>();
+        if (predicates != null) {
+            for (final var predicate : predicates) {
+                if (predicate instanceof Geci.PatternPredicate
+                    && !BACK_REFERENCE.matcher(((Geci.PatternPredicate) predicate).regex).find()) {
+                    regexes.add(((Geci.PatternPredicate) predicate).regex);
+                } else {
+                    others.add(predicate);
+                }
+            }
+        }
+        pattern = regexes.isEmpty() ? null :
+            Pattern.compile(regexes.stream().map(r -> "(?:" + r + ")").collect(Collectors.joining("|")));
+    }
+
+    /**
+     * @return {@code true} if there are no predicates at all
+     */
+    boolean isEmpty() {
+        return pattern == null && others.isEmpty();
+    }
+
+    /**
+     * @param path     the path to test
+     * @param absolute the absolute, normalized name of the file, as calculated by {@link
+     *                 FileCollector#toAbsolute(Path)}
+     * @return {@code true} if any of the predicates matches the path
+     */
+    boolean anyMatch(Path path, String absolute) {
+        if (pattern != null && pattern.matcher(absolute).find()) {
+            return true;
+        }
+        for (final var predicate : others) {
+            if (predicate.test(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -22,8 +22,12 @@ public class Context implements javax0.geci.api.Context {
      */
     protected final Map<Object, Object> map = new HashMap<>();
 
+    /**
+     * <p>The method is synchronized because {@link javax0.geci.api.ThreadSafe} generators may access the context from
+     * different threads when the generators are executed parallel.</p>
+     */
     @Override
-    public <Z> Z get(Object key, Supplier<Z> ini) {
+    public synchronized <Z> Z get(Object key, Supplier<Z> ini) {
         return (Z) map.computeIfAbsent(key, k -> ini.get());
     }
 }
@@ -5,26 +5,36 @@ import javax0.geci.api.DirectoryLocator;
 import javax0.geci.api.GeciException;
 import javax0.geci.api.Logger;
 import javax0.geci.api.SegmentSplitHelper;
+import javax0.geci.log.LoggerFactory;
 import javax0.geci.tools.Tracer;
 import javax0.geci.util.DirectoryLocated;
 import javax0.geci.util.JavaSegmentSplitHelper;
 import javax0.geci.util.NullSegmentSplitHelper;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 class FileCollector {
-    private static final Logger log = new javax0.geci.log.Logger(FileCollector.class);
+    private static final Logger log = LoggerFactory.getLogger(FileCollector.class);
     private final static SegmentSplitHelper nullSegmentSplitHelper = new NullSegmentSplitHelper();
     private static final SegmentSplitHelper javaSegmentSplitHelper = new JavaSegmentSplitHelper();
     private static final int MAX_DEPTH_UNLIMITED = Integer.MAX_VALUE;
@@ -34,6 +44,9 @@ class FileCollector {
     private final Set<Source> sources = new HashSet<>();
     private final Map<String, SegmentSplitHelper> splitHelpers = new HashMap<>();
     private boolean lenient = false;
+    private SourceIndex index = null;
+    private boolean ignoreBinary = false;
+    private TriggerScanner triggerScanner = null;
 
     public FileCollector(Map<Source.Set, javax0.geci.api.DirectoryLocator> directories) {
         this.directories = new HashMap<>(directories);
@@ -127,7 +140,7 @@ class FileCollector {
     }
 
     public void registerSplitHelpers(Map<String, SegmentSplitHelper> splitHelpers) {
-        splitHelpers.forEach((key, value) -> Tracer.log("Helper " + key + " = " + value.getClass().getName()));
+        splitHelpers.forEach((key, value) -> Tracer.logLazy(() -> "Helper " + key + " = " + value.getClass().getName()));
         this.splitHelpers.putAll(splitHelpers);
     }
 
@@ -177,6 +190,36 @@ class FileCollector {
         lenient = true;
     }
 
+    /**
+     * <p>Use the index to skip the files that did not change since the last run. The files that are skipped are not
+     * added to the set of the sources and thus no generator is invoked on them.</p>
+     *
+     * @param index the index of the incremental mode
+     */
+    public void index(SourceIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * <p>Do not create sources for binary files. The files are checked using the {@link BinarySniffer} looking at the
+     * first block of the file.</p>
+     */
+    public void ignoreBinary() {
+        ignoreBinary = true;
+    }
+
+    /**
+     * <p>Create sources only for the files that contain at least one of the triggers. Files that do not contain any
+     * trigger are not added to the sources, they are not read into memory and no generator will be invoked on
+     * them.</p>
+     *
+     * @param triggers the trigger strings collected from the generators, or {@code null} if every file is to be
+     *                 collected
+     */
+    public void triggers(Collection<String> triggers) {
+        triggerScanner = triggers == null ? null : new TriggerScanner(triggers);
+    }
+
     /**
      * <p>Get the segment split helper that is to be used for this source.</p>
      *
@@ -224,7 +267,7 @@ class FileCollector {
      *                   sets.
      */
     public void collect(Set<Predicate<Path>> onlySet, Set<Predicate<Path>> ignoreSet, Set<Source.Set> outputSets) {
-        Tracer.log("Current Working Directory is '" + getCwd() + "'");
+        Tracer.logLazy(() -> "Current Working Directory is '" + getCwd() + "'");
         boolean processedSomeOfTheEntries = false;
         for (var entry : directories.entrySet()) {
             processedSomeOfTheEntries |= collectEntry(entry, onlySet, ignoreSet, outputSets);
@@ -256,7 +299,10 @@ class FileCollector {
                                  final Set<Predicate<Path>> ignoreSet,
                                  final Set<javax0.geci.api.Source.Set> outputSets
     ) {
-        Tracer.push("Entry", "File collecting started for entry [" + entry.getValue().alternatives().collect(Collectors.joining(",")) + "]");
+        Tracer.pushLazy("Entry", () -> "File collecting started for entry [" + entry.getValue().alternatives().collect(Collectors.joining(",")) + "]");
+        final var event = new GeciEvents.FileCollection();
+        event.begin();
+        final int before = sources.size();
         var processedSome = new AtomicBoolean(false);
         var processed = new AtomicBoolean(false);
         final var locator = entry.getValue();
@@ -265,6 +311,13 @@ class FileCollector {
                     collectDirectoryTraced(directory, entry, onlySet, ignoreSet, outputSets, processedSome, processed, locator);
                 });
         Tracer.pop();
+        event.end();
+        if (event.shouldCommit()) {
+            event.sourceSet = entry.getKey().toString();
+            event.directories = locator.alternatives().collect(Collectors.joining(","));
+            event.files = sources.size() - before;
+            event.commit();
+        }
         if (!processed.get() && !lenient) {
             throw new GeciException("Source directory [" +
                     locator.alternatives().collect(Collectors.joining(","))
@@ -282,7 +335,7 @@ class FileCollector {
                                         final AtomicBoolean processed,
                                         final DirectoryLocator locator
     ) {
-        try (final var __ = Tracer.push("Alternative", "File collecting started for alternative '" + directory + "'")) {
+        try (final var __ = Tracer.pushLazy("Alternative", () -> "File collecting started for alternative '" + directory + "'")) {
             collectDirectory(directory, entry, onlySet, ignoreSet, outputSets, processedSome, processed, locator);
         } catch (IOException ioException) {
             throw new GeciException("The directory '"
@@ -305,7 +358,7 @@ class FileCollector {
         if (locator.test(dir)) {
             collectTestedDirectory(directory, entry, onlySet, ignoreSet, outputSets, processedSome, processed, dir);
         } else {
-            Tracer.log("'" + directory + "' is not the right alternative");
+            Tracer.logLazy(() -> "'" + directory + "' is not the right alternative");
         }
     }
 
@@ -338,11 +391,11 @@ class FileCollector {
                                         final AtomicBoolean processed,
                                         final String dir
     ) throws IOException {
-        Tracer.log("'" + directory + "' seems to be the right alternative");
+        Tracer.logLazy(() -> "'" + directory + "' seems to be the right alternative");
         if (outputSets.contains(entry.getKey())) {
-            Tracer.log("'" + directory + "' is an output location, files are not collected");
+            Tracer.logLazy(() -> "'" + directory + "' is an output location, files are not collected");
         } else {
-            Tracer.log("'" + directory + "' is input, collecting files...");
+            Tracer.logLazy(() -> "'" + directory + "' is input, collecting files...");
             collectInputDirectory(onlySet, ignoreSet, dir);
             located.put(entry.getKey(), new DirectoryLocated(dir));
             processed.set(true);
@@ -364,6 +417,10 @@ class FileCollector {
                                        final Set<Predicate<Path>> ignoreSet,
                                        final String dir
     ) throws IOException {
+        if (!Tracer.isOn()) {
+            collectInputDirectoryParallel(onlySet, ignoreSet, dir);
+            return;
+        }
         getAllRegularFiles(dir)
                 .peek(s -> Tracer.push("File", "'" + s + "' was found"))
 //
@@ -375,8 +432,123 @@ class FileCollector {
                 .filter(path -> pathIsNotIgnored(ignoreSet, path))
                 .peek(s -> Tracer.pop())
 //
+                .filter(this::pathIsNotBinaryOrBinaryIsAllowed)
+                .filter(this::pathContainsTrigger)
                 .peek(s -> Tracer.pop())
-                .forEach(path -> sources.add(new Source(this, dir, path)));
+                .forEach(path -> addSource(new Source(this, dir, path)));
+    }
+
+    /**
+     * <p>Collect the source files from the {@code dir} directory the same way as {@link #collectInputDirectory(Set,
+     * Set, String)} does, but walking the directory tree and checking the files parallel in the common fork join
+     * pool. The absolute name of each file is calculated only once and the 'only' and 'ignore' predicates are
+     * combined into one {@link CombinedPathPredicate} each.</p>
+     *
+     * <p>This method is used only when the tracing is switched off, because the {@link Tracer} is not thread
+     * safe.</p>
+     *
+     * @param onlySet   see {@link #collectInputDirectory(Set, Set, String)}
+     * @param ignoreSet see {@link #collectInputDirectory(Set, Set, String)}
+     * @param dir       the directory to collect the files from
+     * @throws IOException if the directory tree cannot be walked
+     */
+    private void collectInputDirectoryParallel(final Set<Predicate<Path>> onlySet,
+                                               final Set<Predicate<Path>> ignoreSet,
+                                               final String dir
+    ) throws IOException {
+        final var only = new CombinedPathPredicate(onlySet);
+        final var ignore = new CombinedPathPredicate(ignoreSet);
+        try {
+            ForkJoinPool.commonPool().invoke(new DirectoryWalk(Paths.get(dir), path -> {
+                final var absoluteFile = toAbsolute(path);
+                if ((only.isEmpty() || only.anyMatch(path, absoluteFile))
+                    && !ignore.anyMatch(path, absoluteFile)
+                    && (!ignoreBinary || !BinarySniffer.isBinary(path))
+                    && (triggerScanner == null || triggerScanner.test(path))) {
+                    addSource(new Source(this, dir, path, absoluteFile));
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Walk a directory tree in the fork join pool. Every subdirectory is walked in a separate task and the regular
+     * files found in a directory are passed to the consumer splitting the list of the files into smaller batches
+     * processed parallel. Symbolic links are not followed, the same way as {@link Files#find} does not follow them.
+     */
+    private static class DirectoryWalk extends RecursiveAction {
+        private static final int BATCH = 16;
+        private final Path directory;
+        private final List<Path> files;
+        private final int from;
+        private final int to;
+        private final Consumer<Path> consumer;
+
+        private DirectoryWalk(Path directory, Consumer<Path> consumer) {
+            this(directory, null, 0, 0, consumer);
+        }
+
+        private DirectoryWalk(Path directory, List<Path> files, int from, int to, Consumer<Path> consumer) {
+            this.directory = directory;
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (files == null) {
+                walkDirectory();
+            } else if (to - from <= BATCH) {
+                for (int i = from; i < to; i++) {
+                    consumer.accept(files.get(i));
+                }
+            } else {
+                final int middle = (from + to) / 2;
+                invokeAll(new DirectoryWalk(directory, files, from, middle, consumer),
+                    new DirectoryWalk(directory, files, middle, to, consumer));
+            }
+        }
+
+        private void walkDirectory() {
+            final var tasks = new ArrayList<DirectoryWalk>();
+            final var regularFiles = new ArrayList<Path>();
+            try (final var entries = Files.newDirectoryStream(directory)) {
+                for (final var entry : entries) {
+                    final var attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        tasks.add(new DirectoryWalk(entry, consumer));
+                    } else if (attributes.isRegularFile()) {
+                        regularFiles.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!regularFiles.isEmpty()) {
+                tasks.add(new DirectoryWalk(directory, regularFiles, 0, regularFiles.size(), consumer));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * <p>Add the source to the set of the sources unless the incremental index says that the file has not changed
+     * since the last run. The method is called from several threads when the files are collected parallel.</p>
+     *
+     * @param source the source to add to the sources
+     */
+    private void addSource(Source source) {
+        if (index != null && index.isUnchanged(source)) {
+            Tracer.logLazy(() -> "'" + source.getAbsoluteFile() + "' did not change since the last run, skipped");
+        } else {
+            synchronized (sources) {
+                sources.add(source);
+            }
+        }
     }
 
     /**
@@ -422,6 +594,36 @@ class FileCollector {
         return false;
     }
 
+    /**
+     * <p>Check that the path is not a binary file in case binary files are to be ignored.</p>
+     *
+     * @param path the path to be checked
+     * @return {@code true} if the path is to be selected
+     */
+    private boolean pathIsNotBinaryOrBinaryIsAllowed(final Path path) {
+        if (!ignoreBinary || !BinarySniffer.isBinary(path)) {
+            return true;
+        }
+        Tracer.log("The file is binary, skipped");
+        Tracer.pop();
+        return false;
+    }
+
+    /**
+     * <p>Check that the file contains any of the triggers in case triggers are defined.</p>
+     *
+     * @param path the path to be checked
+     * @return {@code true} if the path is to be selected
+     */
+    private boolean pathContainsTrigger(final Path path) {
+        if (triggerScanner == null || triggerScanner.test(path)) {
+            return true;
+        }
+        Tracer.log("The file does not contain any trigger, skipped");
+        Tracer.pop();
+        return false;
+    }
+
     /**
      * <p>Check that the path is to be selected based on the predicate set 'onlySet'.</p>
      *
@@ -69,6 +69,9 @@ class FileSystemSourceStore implements SourceStore {
      * <p>Get an existing source object from the new sources set or create a new one and store it there and then return
      * the newly created source object.</p>
      *
+     * <p>The lookup and the insertion are synchronized on the collector, because generators running parallel on
+     * different sources may request the same new source the same time.</p>
+     *
      * @param dir      the directory to which the {@code fileName} is relative
      * @param fileName the file name of the new source
      * @return the {@link Source} object for thew new source
@@ -76,14 +79,16 @@ class FileSystemSourceStore implements SourceStore {
     private Source getExistingOrNew(String dir, String fileName) {
         var path = inDir(dir, fileName);
         var absoluteFile = FileCollector.toAbsolute(path);
-        for (final var source : collector.getNewSources()) {
-            if (absoluteFile.equals(source.absoluteFile)) {
-                return source;
+        synchronized (collector) {
+            for (final var source : collector.getNewSources()) {
+                if (absoluteFile.equals(source.absoluteFile)) {
+                    return source;
+                }
             }
+            var source = new javax0.geci.engine.Source(collector, dir, path);
+            collector.addNewSource(source);
+            return source;
         }
-        var source = new javax0.geci.engine.Source(collector, dir, path);
-        collector.addNewSource(source);
-        return source;
     }
 
     /**
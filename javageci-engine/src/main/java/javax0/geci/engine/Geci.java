@@ -8,11 +8,14 @@ import javax0.geci.api.GlobalGenerator;
 import javax0.geci.api.Segment;
 import javax0.geci.api.SegmentSplitHelper;
 import javax0.geci.api.Source;
+import javax0.geci.api.ThreadSafe;
 import javax0.geci.engine.Source.SourceIsBinary;
 import javax0.geci.javacomparator.Comparator;
 import javax0.geci.log.Logger;
 import javax0.geci.log.LoggerFactory;
 import javax0.geci.tools.AbstractJavaGenerator;
+import javax0.geci.tools.AnnotationIndex;
+import javax0.geci.tools.ReflectionCache;
 import javax0.geci.tools.Tracer;
 import javax0.geci.util.DirectoryLocator;
 
@@ -29,6 +32,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiPredicate;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
@@ -66,7 +73,18 @@ public class Geci implements javax0.geci.api.Geci {
     private Source.Set lastSet = null;
     private boolean ignoreBinary = false;
     private String traceFileName = null;
+    private boolean traceStreamed = false;
     private String diffDirectory = null;
+    private int parallelism = 1;
+    private boolean resolveClassesEagerly = false;
+    private String indexFileName = null;
+    private GenerationReport report = new GenerationReport();
+    private ReflectionCache reflectionCache = null;
+    private boolean generatorMetrics = false;
+    /**
+     * The default file name of the index used in incremental mode. See {@link #incremental()}.
+     */
+    public static final String DEFAULT_INDEX_FILE = "target/geci/incremental.idx";
 
 // Jdocify constants to be used in Javadoc
 //DEFINE EXCEPTIONS=the list of exceptions that are caught and suppressed
@@ -75,6 +93,7 @@ public class Geci implements javax0.geci.api.Geci {
 //DEFINE COLLECTOR=the object where the sources are collected and kept
 //DEFINE SOURCE=the source object that the generator works on
 //DEFINE GENERATOR=to be invoked
+//DEFINE SELECTED=selects the generators to invoke
 
     @Override
     public Geci source(String... directory) {
@@ -268,12 +287,12 @@ public class Geci implements javax0.geci.api.Geci {
      * a predicate, and the same time the {@code toString()} of the
      * object returns the regular expression itself to aid debugging.
      */
-    private static class PatternPredicate implements Predicate<Path> {
+    static class PatternPredicate implements Predicate<Path> {
         private final Predicate<Path> predicate;
-        private final String regex;
+        final String regex;
         private final Pattern pattern;
 
-        private PatternPredicate(String regex) {
+        PatternPredicate(String regex) {
             this.pattern = Pattern.compile(regex);
             this.predicate = s -> pattern.matcher(FileCollector.toAbsolute(s)).find();
             this.regex = regex;
@@ -320,6 +339,35 @@ public class Geci implements javax0.geci.api.Geci {
         }
     }
 
+    /**
+     * The built-in comparators decide the same way comparing the whole file as comparing only the changed ranges of
+     * the file. In case of these comparators the save process compares only the segments that were changed. A
+     * comparator set calling {@link #comparator(BiPredicate)} always gets the whole file.
+     *
+     * @param comparator the comparator to check
+     * @return {@code true} if the comparator can be used to compare the changed ranges of the file
+     */
+    static boolean comparesRanges(BiPredicate<List<String>, List<String>> comparator) {
+        return comparator == EQUALS_COMPARATOR || comparator == JAVA_COMPARATOR || comparator == JAVA_COMPARATOR_COMMENT;
+    }
+
+    /**
+     * @param comparator the comparator
+     * @return the name of the comparator to be used in the {@link GeciEvents.Comparison} event
+     */
+    private static String comparatorName(BiPredicate<List<String>, List<String>> comparator) {
+        if (comparator == EQUALS_COMPARATOR) {
+            return "EQUALS_COMPARATOR";
+        }
+        if (comparator == JAVA_COMPARATOR) {
+            return "JAVA_COMPARATOR";
+        }
+        if (comparator == JAVA_COMPARATOR_COMMENT) {
+            return "JAVA_COMPARATOR_COMMENT";
+        }
+        return comparator.getClass().getName();
+    }
+
     private static boolean isCommentTouched(final Source source) {
         if (source instanceof javax0.geci.engine.Source) {
             final var src = (javax0.geci.engine.Source) source;
@@ -343,7 +391,7 @@ public class Geci implements javax0.geci.api.Geci {
         for (final var directory : directories.entrySet()) {
             final var set = directory.getKey();
             final var locator = directory.getValue();
-            Tracer.log(set.toString() + " set with alternative directory locations ["
+            Tracer.logLazy(() -> set.toString() + " set with alternative directory locations ["
                 + locator.alternatives().collect(Collectors.joining(",")) + "]");
         }
         Tracer.pop();
@@ -353,6 +401,19 @@ public class Geci implements javax0.geci.api.Geci {
     public Geci trace(final String fileName) {
         Tracer.on();
         traceFileName = fileName;
+        traceStreamed = false;
+        return this;
+    }
+
+    @Override
+    public Geci trace(final String fileName, final int maxDepth) {
+        try {
+            Tracer.on(fileName, maxDepth);
+        } catch (IOException e) {
+            throw new GeciException("Trace file '" + fileName + "' cannot be opened", e);
+        }
+        traceFileName = fileName;
+        traceStreamed = true;
         return this;
     }
 
@@ -362,13 +423,128 @@ public class Geci implements javax0.geci.api.Geci {
         return this;
     }
 
+    /**
+     * <p>Switch on incremental mode using the default index file {@value #DEFAULT_INDEX_FILE}.</p>
+     *
+     * <p>See {@link #incremental(String)}.</p>
+     *
+     * @return {@code this}
+     */
+    public Geci incremental() {
+        return incremental(DEFAULT_INDEX_FILE);
+    }
+
+    /**
+     * <p>Switch on incremental mode.</p>
+     *
+     * <p>In incremental mode Geci keeps an index in the file {@code indexFileName}. The index records for every file
+     * the hash of the content, the fingerprint of the set of the registered generators and the outcome of the
+     * processing ({@code UNTOUCHED} or {@code TOUCHED}). When the file has not changed since the last run and the same
+     * set of generators are registered then the file is skipped. It is not read into memory and no generator is invoked
+     * on it. Files that were modified by the code generation are not recorded and they are processed again during the
+     * next run.</p>
+     *
+     * <p>Use this mode only if the generators create the code of a source depending on that source alone. Generators
+     * that use the compiled class may depend on other classes (e.g. a superclass) and generators that collect
+     * information from many sources (e.g. global generators) will not see the skipped sources. The fingerprint of the
+     * generators depends on the class of the generators and on their configuration as described by {@link
+     * Generator#configuration()}. If any of the registered generators does not describe its configuration then the
+     * incremental mode is switched off, and all the sources are processed.</p>
+     *
+     * @param indexFileName the name of the index file. It is recommended to put the file under the {@code target}
+     *                      directory, so that {@code mvn clean} deletes it.
+     * @return {@code this}
+     */
+    public Geci incremental(String indexFileName) {
+        this.indexFileName = indexFileName;
+        return this;
+    }
+
+    /**
+     * <p>Set the number of threads that execute the generators.</p>
+     *
+     * <p>The default value is 1, in which case all generators are invoked on the thread that calls {@link
+     * #generate()}. When the value is larger than one then the generators that implement the {@link ThreadSafe}
+     * interface are invoked on the different sources in parallel using a thread pool of the given size. The phases are
+     * still executed one after the other and there is a barrier between them. A source is never processed by more than
+     * one thread at a time. Generators that do not implement {@link ThreadSafe} are invoked serially on the calling
+     * thread after the thread safe generators finished the phase.</p>
+     *
+     * <p>The thread safe built-in generators are {@code Accessor}, {@code ChainedAccessor}, {@code Builder}, {@code
+     * Cloner}, {@code ConfigBuilder}, {@code Delegator}, {@code Factory}, {@code Iterate}, {@code Mapper} and {@code
+     * Record}. The other built-in generators keep state between the sources or share state with the engine and they
+     * are invoked serially.</p>
+     *
+     * <p>The generated code does not depend on the number of the threads. When tracing is switched on (see {@link
+     * #trace(String)}) the generators are executed serially, because the {@link Tracer} is not thread safe.</p>
+     *
+     * @param parallelism the number of threads to use, for example {@code Runtime.getRuntime().availableProcessors()}
+     * @return {@code this}
+     */
+    public Geci parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new GeciException("Parallelism has to be at least 1, it was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * <p>Resolve the classes of all the collected sources in parallel before the first phase starts.</p>
+     *
+     * <p>The class of a source is resolved only once during a run and the result is cached in the source object, also
+     * when there is no class for the source. Without this option the classes are loaded one after the other when the
+     * first generator needs them. With this option they are loaded using several threads: as many as set by {@link
+     * #parallelism(int)} or, if that is one, as many as the number of the available processors. The time spent
+     * resolving the classes is reported as the {@link GenerationReport.Stage#CLASS_RESOLUTION} stage.</p>
+     *
+     * <p>Loading a class also initializes it, therefore the static initializers of the classes run on the threads of
+     * this stage. When the loading of a class fails with an error other than {@link ClassNotFoundException} or {@link
+     * NoClassDefFoundError} then the error is not cached and it is thrown again when a generator asks for the
+     * class.</p>
+     *
+     * @return {@code this}
+     */
+    public Geci resolveClassesEagerly() {
+        this.resolveClassesEagerly = true;
+        return this;
+    }
+
+    /**
+     * <p>Switch on or off measuring the time of every generator invocation.</p>
+     *
+     * <p>The time of the stages and the I/O metrics are always collected. Measuring the wall clock and the CPU time of
+     * the individual generator invocations costs a call to the thread management bean before and after each
+     * invocation and the timings of the same generator are added from the different threads when the generators are
+     * executed parallel. For this reason it is off by default and {@link GenerationReport#generators()} is empty.</p>
+     *
+     * @param generatorMetrics {@code true} to measure the generator invocations
+     * @return {@code this}
+     */
+    public Geci metrics(boolean generatorMetrics) {
+        this.generatorMetrics = generatorMetrics;
+        return this;
+    }
+
+    /**
+     * Get the timing and I/O metrics of the last {@link #generate()} run. The timing of the generators is only
+     * collected when it was switched on calling {@link #metrics(boolean)}. Calling this method before {@link
+     * #generate()} returns an empty report.
+     *
+     * @return the report of the last code generation run
+     */
+    public GenerationReport metrics() {
+        return report;
+    }
+
     @Override
     public boolean generate() throws IOException {
+        report = new GenerationReport();
         try {
-            final var exceptions = new ArrayList<SourceIsBinary>();
+            final var exceptions = Collections.synchronizedList(new ArrayList<SourceIsBinary>());
             injectContextIntoGenerators();
             final var phases = getPhases();
-            Tracer.log("There will be " + phases + " phases.");
+            Tracer.logLazy(() -> "There will be " + phases + " phases.");
             final FileCollector collector;
             if (directories.isEmpty()) {
                 Tracer.log("There are no configured directories, using the default");
@@ -385,16 +561,40 @@ public class Geci implements javax0.geci.api.Geci {
             Tracer.push("Registering split helpers");
             collector.registerSplitHelpers(splitHelpers);
             Tracer.pop();
+            final SourceIndex index = sourceIndex();
+            collector.index(index);
+            if (ignoreBinary) {
+                collector.ignoreBinary();
+            }
+            collector.triggers(getTriggers());
             Tracer.push("SourceCollect", "Collecting sources");
+            var start = System.nanoTime();
             collector.collect(onlys, ignores, outputSet);
+            report.stage(GenerationReport.Stage.COLLECTION, start);
             Tracer.pop();
+            if (resolveClassesEagerly) {
+                start = System.nanoTime();
+                resolveClasses(collector);
+                report.stage(GenerationReport.Stage.CLASS_RESOLUTION, start);
+            }
 
+            start = System.nanoTime();
             invokeGeneratorsOnAllSourcesForAllPhases(exceptions, phases, collector);
+            report.stage(GenerationReport.Stage.GENERATION, start);
+            start = System.nanoTime();
             invokeGlobalGenerators();
+            report.stage(GenerationReport.Stage.GLOBAL_GENERATION, start);
             logAndThrowDeferredExceptionsIfAny(exceptions);
-            consolidateSources(collector);
+            start = System.nanoTime();
+            consolidateSources(collector, index);
+            report.stage(GenerationReport.Stage.CONSOLIDATION, start);
 
-            return sourcesModifiedAndSave(collector);
+            final var generated = sourcesModifiedAndSave(collector);
+            if (index != null) {
+                index.update(collector.getSources(), modifiedSources);
+                index.save();
+            }
+            return generated;
         } finally {
             dumpCollectedTracesAsXML();
         }
@@ -417,14 +617,48 @@ public class Geci implements javax0.geci.api.Geci {
     }
 
     /**
-     * <p>Create the hierarchical trace log information in XML format into the trace file.</p>
+     * <p>Get the union of the triggers that the generators declare (see {@link Generator#triggers()}).</p>
+     *
+     * <p>A single generator that does not declare triggers switches off the filtering for all the generators. The
+     * generators extending {@link AbstractJavaGenerator} do not declare triggers, because they are configured also by
+     * annotations on the compiled classes, which cannot be seen in the source. Thus the files are filtered only when
+     * no such generator is registered. The generator that switched off the filtering is logged on the debug level.</p>
+     *
+     * @return the set of all triggers or {@code null} if there is a generator that does not declare triggers, or if
+     * there are no generators. In this case all the files are collected.
+     */
+    private Set<String> getTriggers() {
+        if (generators.isEmpty()) {
+            return null;
+        }
+        final var triggers = new HashSet<String>();
+        for (final var generator : generators) {
+            final var generatorTriggers = generator.triggers();
+            if (generatorTriggers == null) {
+                LOG.debug(() -> "All the files are collected, the generator " + generator.getClass().getName() + " does not declare triggers.");
+                Tracer.logLazy(() -> "All the files are collected, the generator " + generator.getClass().getName() + " does not declare triggers");
+                return null;
+            }
+            triggers.addAll(generatorTriggers);
+        }
+        Tracer.logLazy(() -> "Only the files containing any of the triggers [" + String.join(",", triggers) + "] are collected");
+        return triggers;
+    }
+
+    /**
+     * <p>Create the hierarchical trace log information in XML format into the trace file. When the trace is streamed
+     * then the rest of the trace is written and the file is closed.</p>
      */
     private void dumpCollectedTracesAsXML() {
         if (traceFileName != null) {
             try {
-                Tracer.dumpXML(traceFileName);
+                if (traceStreamed) {
+                    Tracer.finish();
+                } else {
+                    Tracer.dumpXML(traceFileName);
+                }
             } catch (IOException e) {
-                LoggerFactory.getLogger().error("Trace cannot be written into '" + traceFileName + "'", e);
+                LOG.error("Trace cannot be written into '%s': %s", traceFileName, e);
             }
         }
     }
@@ -434,9 +668,11 @@ public class Geci implements javax0.geci.api.Geci {
      * should have.</p>
      *
      * @param collector <!--COLLECTOR-->the object where the sources are collected and kept<!--/-->
+     * @param index     the index of the incremental mode or {@code null}. Sources skipped because they were touched
+     *                  during the last run are also counted as touched.
      */
-    private void consolidateSources(FileCollector collector) {
-        if (!sourcesConsolidate(collector)) {
+    private void consolidateSources(FileCollector collector, SourceIndex index) {
+        if (!sourcesConsolidate(collector) && (index == null || !index.skippedTouched())) {
             if (generators.stream().anyMatch(g -> !(g instanceof Distant))) {
                 throw new GeciException("The generators did not touch any source");
             }
@@ -468,14 +704,74 @@ public class Geci implements javax0.geci.api.Geci {
         try (final var pos1 = Tracer.push("GlobalGenerators", null)) {
             for (var generator : generators) {
                 if (generator instanceof GlobalGenerator) {
-                    try (final var pos2 = Tracer.push("GlobalGenerator." + generator.getClass().getSimpleName(), generator.getClass().getName())) {
-                        ((GlobalGenerator) generator).process();
+                    try (final var pos2 = Tracer.pushLazy(() -> "GlobalGenerator." + generator.getClass().getSimpleName(), () -> generator.getClass().getName())) {
+                        final var event = new GeciEvents.GlobalGenerator();
+                        event.begin();
+                        final var wallStart = generatorMetrics ? System.nanoTime() : 0;
+                        final var cpuStart = generatorMetrics ? GenerationReport.cpuTime() : 0;
+                        try (final var cache = reflectionCache.use()) {
+                            ((GlobalGenerator) generator).process();
+                        }
+                        if (generatorMetrics) {
+                            report.generator(generator, -1, wallStart, cpuStart);
+                        }
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.generator = generator.getClass();
+                            event.commit();
+                        }
                     }
                 }
             }
         }
     }
 
+    /**
+     * Create the index of the incremental mode.
+     *
+     * @return the index or {@code null} if the incremental mode is off or it cannot be used, because some of the
+     * generators do not describe their configuration
+     */
+    private SourceIndex sourceIndex() {
+        if (indexFileName == null) {
+            return null;
+        }
+        final var fingerprint = SourceIndex.fingerprint(generators);
+        if (fingerprint == null) {
+            LOG.warning("Incremental mode is switched off, not all the generators describe their configuration.");
+            return null;
+        }
+        return new SourceIndex(indexFileName, fingerprint);
+    }
+
+    /**
+     * Resolve the classes of the sources in parallel, so that the results are cached in the sources before the
+     * generators start. Errors are ignored here, they are reported when a generator asks for the class.
+     *
+     * @param collector <!--COLLECTOR-->the object where the sources are collected and kept<!--/-->
+     */
+    private void resolveClasses(FileCollector collector) {
+        final var threads = parallelism > 1 ? parallelism : Runtime.getRuntime().availableProcessors();
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (final var source : collector.getSources()) {
+                futures.add(executor.submit(source::getKlass));
+            }
+            for (final var future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new GeciException("Code generation was interrupted", e);
+                } catch (ExecutionException ignored) {
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Invoke all the generators for all the sources that were collected by the collector for all the phases from {@code
      * 0} to {@code phases-1}.
@@ -484,25 +780,105 @@ public class Geci implements javax0.geci.api.Geci {
      * @param phases     <!--PHASES-->the number of the phases to execute the generators in<!--/-->
      * @param collector  <!--COLLECTOR-->the object where the sources are collected and kept<!--/-->
      */
-    private void invokeGeneratorsOnAllSourcesForAllPhases(ArrayList<SourceIsBinary> exceptions, int phases, FileCollector collector) {
-        for (int phase = 0; phase < phases; phase++) {
-            try (final var posPhase = Tracer.push("Phase", "Starting phase " + phase)) {
-                invokeGeneratorsOnAllSources(collector, exceptions, phase);
+    private void invokeGeneratorsOnAllSourcesForAllPhases(List<SourceIsBinary> exceptions, int phases, FileCollector collector) {
+        if (parallelism > 1 && !Tracer.isOn() && generators.stream().anyMatch(g -> g instanceof ThreadSafe)) {
+            final var executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                for (int phase = 0; phase < phases; phase++) {
+                    invokeThreadSafeGeneratorsOnAllSourcesParallel(executor, collector, exceptions, phase);
+                    invokeGeneratorsOnAllSources(collector, exceptions, phase, g -> !(g instanceof ThreadSafe));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        } else {
+            for (int phase = 0; phase < phases; phase++) {
+                try (final var posPhase = Tracer.push("Phase", "Starting phase " + phase)) {
+                    invokeGeneratorsOnAllSources(collector, exceptions, phase, g -> true);
+                }
             }
         }
     }
 
+    /**
+     * Invoke the {@link ThreadSafe} generators that are active in the phase on all the sources using the {@code
+     * executor}. Each source is processed by one task, which invokes the generators one after the other on the source.
+     * The method returns when all the tasks have finished, therefore it works as a barrier between the phases.
+     * <p>
+     * In case some of the tasks throw exception then the exception of the first source (in the order of the sources in
+     * the collector) is rethrown, so that the reported error does not depend on the scheduling of the threads.
+     *
+     * @param executor   the executor service to run the tasks
+     * @param collector  <!--COLLECTOR-->the object where the sources are collected and kept<!--/-->
+     * @param exceptions <!--EXCEPTIONS-->the list of exceptions that are caught and suppressed<!--/-->
+     * @param phase      <!--PHASE-->the serial number of the current phase between {@code 0} and {@code phases-1}<!--/-->
+     */
+    private void invokeThreadSafeGeneratorsOnAllSourcesParallel(ExecutorService executor, FileCollector collector, List<SourceIsBinary> exceptions, int phase) {
+        final var activeGenerators = generators.stream()
+            .filter(g -> g instanceof ThreadSafe)
+            .filter(g -> g.activeIn(phase))
+            .collect(Collectors.toList());
+        if (activeGenerators.isEmpty()) {
+            return;
+        }
+        final var futures = new ArrayList<Future<?>>();
+        for (final var source : collector.getSources()) {
+            futures.add(executor.submit(() -> invokeGeneratorsOnNonBinaryParallel(activeGenerators, source, exceptions, phase)));
+        }
+        RuntimeException thrown = null;
+        for (final var future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeciException("Code generation was interrupted", e);
+            } catch (ExecutionException e) {
+                if (thrown == null) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        thrown = (RuntimeException) e.getCause();
+                    } else {
+                        thrown = new GeciException(e.getCause());
+                    }
+                }
+            }
+        }
+        if (thrown != null) {
+            throw thrown;
+        }
+    }
+
+    /**
+     * Invoke the already selected active generators on the source unless the source is binary. This method is
+     * executed on the worker threads, therefore it does not trace.
+     *
+     * @param activeGenerators the thread safe generators that are active in the current phase
+     * @param source           <!--SOURCE-->the source object that the generator works on<!--/-->
+     * @param exceptions       <!--EXCEPTIONS-->the list of exceptions that are caught and suppressed<!--/-->
+     * @param phase            <!--PHASE-->the serial number of the current phase between {@code 0} and {@code phases-1}<!--/-->
+     */
+    private void invokeGeneratorsOnNonBinaryParallel(List<Generator> activeGenerators, javax0.geci.engine.Source source, List<SourceIsBinary> exceptions, int phase) {
+        if (source.isBinary) {
+            return;
+        }
+        for (final var generator : activeGenerators) {
+            source.allowDefaultSegment = false;
+            source.currentGenerator = generator;
+            invokeGenerator(generator, source, exceptions, phase);
+        }
+    }
+
     /**
      * Invoke the generators on all the sources that the collector collected.
      *
      * @param collector  <!--COLLECTOR-->the object where the sources are collected and kept<!--/-->
      * @param exceptions <!--EXCEPTIONS-->the list of exceptions that are caught and suppressed<!--/-->
      * @param phase      <!--PHASE-->the serial number of the current phase between {@code 0} and {@code phases-1}<!--/-->
+     * @param selected   <!--SELECTED-->selects the generators to invoke<!--/-->
      */
-    private void invokeGeneratorsOnAllSources(FileCollector collector, List<SourceIsBinary> exceptions, int phase) {
+    private void invokeGeneratorsOnAllSources(FileCollector collector, List<SourceIsBinary> exceptions, int phase, Predicate<Generator> selected) {
         for (final var source : collector.getSources()) {
             try (final var posSource = Tracer.push("Source", source.getAbsoluteFile())) {
-                invokeGeneratorsOnNonBinary(source, exceptions, phase);
+                invokeGeneratorsOnNonBinary(source, exceptions, phase, selected);
             }
         }
     }
@@ -514,14 +890,15 @@ public class Geci implements javax0.geci.api.Geci {
      * @param source     <!--SOURCE-->the source object that the generator works on<!--/-->
      * @param exceptions <!--EXCEPTIONS-->the list of exceptions that are caught and suppressed<!--/-->
      * @param phase      <!--PHASES-->the number of the phases to execute the generators in<!--/-->
+     * @param selected   <!--SELECTED-->selects the generators to invoke<!--/-->
      */
-    private void invokeGeneratorsOnNonBinary(javax0.geci.engine.Source source, List<SourceIsBinary> exceptions, int phase) {
+    private void invokeGeneratorsOnNonBinary(javax0.geci.engine.Source source, List<SourceIsBinary> exceptions, int phase, Predicate<Generator> selected) {
         if (!source.isBinary) {
             try (final var posGenerators = Tracer.push("Generators", null)) {
-                invokeGenerators(source, exceptions, phase);
+                invokeGenerators(source, exceptions, phase, selected);
             }
         } else {
-            Tracer.log(source.getAbsoluteFile() + " seems to be binary, skipped");
+            Tracer.logLazy(() -> source.getAbsoluteFile() + " seems to be binary, skipped");
         }
     }
 
@@ -531,10 +908,14 @@ public class Geci implements javax0.geci.api.Geci {
      * @param source     <!--SOURCE-->the source object that the generator works on<!--/-->
      * @param exceptions <!--EXCEPTIONS-->the list of exceptions that are caught and suppressed<!--/-->
      * @param phase      <!--PHASES-->the number of the phases to execute the generators in<!--/-->
+     * @param selected   <!--SELECTED-->selects the generators to invoke<!--/-->
      */
-    private void invokeGenerators(javax0.geci.engine.Source source, List<SourceIsBinary> exceptions, int phase) {
+    private void invokeGenerators(javax0.geci.engine.Source source, List<SourceIsBinary> exceptions, int phase, Predicate<Generator> selected) {
         for (var generator : generators) {
-            try (final var posGenerator = Tracer.push("Generator." + generator.getClass().getSimpleName(), generator.getClass().getName())) {
+            if (!selected.test(generator)) {
+                continue;
+            }
+            try (final var posGenerator = Tracer.pushLazy(() -> "Generator." + generator.getClass().getSimpleName(), () -> generator.getClass().getName())) {
                 invokeGeneratorIfActiveInPhase(generator, source, exceptions, phase);
             }
         }
@@ -554,7 +935,7 @@ public class Geci implements javax0.geci.api.Geci {
             Tracer.log("ACTIVE");
             source.allowDefaultSegment = false;
             source.currentGenerator = generator;
-            invokeGenerator(generator, source, exceptions);
+            invokeGenerator(generator, source, exceptions, phase);
         } else {
             Tracer.log("INACTIVE");
         }
@@ -570,27 +951,52 @@ public class Geci implements javax0.geci.api.Geci {
      * @param generator  <!--GENERATOR><!--/-->
      * @param source     <!--SOURCE-->the source object that the generator works on<!--/-->
      * @param exceptions <!--EXCEPTIONS-->the list of exceptions that are caught and suppressed<!--/-->
+     * @param phase      <!--PHASE-->the serial number of the current phase between {@code 0} and {@code phases-1}<!--/-->
      */
-    private void invokeGenerator(Generator generator, javax0.geci.engine.Source source, List<SourceIsBinary> exceptions) {
-        try {
+    private void invokeGenerator(Generator generator, javax0.geci.engine.Source source, List<SourceIsBinary> exceptions, int phase) {
+        final var event = new GeciEvents.Generator();
+        event.begin();
+        final var wallStart = generatorMetrics ? System.nanoTime() : 0;
+        final var cpuStart = generatorMetrics ? GenerationReport.cpuTime() : 0;
+        try (final var cache = reflectionCache.use()) {
             generator.process(source);
         } catch (javax0.geci.engine.Source.SourceIsBinary e) {
             Tracer.log("source processing failed, it is a binary file");
             exceptions.add(e);
         } catch (GeciException e) {
             throw new SourcedGeciException(source, e);
+        } finally {
+            if (generatorMetrics) {
+                report.generator(generator, phase, wallStart, cpuStart);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.generator = generator.getClass();
+                event.source = source.getAbsoluteFile();
+                event.phase = phase;
+                event.commit();
+            }
         }
     }
 
     /**
      * Save the sources that were modified and return true if there was any source that was modified and thus saved.
+     * The files are written by a {@link SourceWriter} into temporary files parallel and are renamed to their final
+     * names only when all of them were successfully written. If a rename fails then the files renamed before are
+     * restored from their backups. The rename phase is not atomic as a whole: if the process is killed during the
+     * rename phase then some files are already new and the others are still old.
      *
      * @param collector <!--COLLECTOR-->the object where the sources are collected and kept<!--/-->
      * @return {@code true} if there was something saved
      * @throws IOException when some file cannot be written
      */
     private boolean sourcesModifiedAndSave(FileCollector collector) throws IOException {
-        try (final var pos = Tracer.push("Save", null)) {
+        try (final var pos = Tracer.push("Save", null);
+             final var writer = new SourceWriter()) {
+            final var event = new GeciEvents.Save();
+            event.begin();
+            final var start = System.nanoTime();
+            var comparison = 0L;
             var generated = false;
             var allSources = Stream.concat(
                 collector.getSources().stream(),
@@ -599,23 +1005,45 @@ public class Geci implements javax0.geci.api.Geci {
             for (var source : allSources) {
                 try {
                     final var comparator = getSourceComparator(source);
-                    final var modified = source.isModified(comparator);
+                    final var comparisonEvent = new GeciEvents.Comparison();
+                    comparisonEvent.begin();
+                    final var comparisonStart = System.nanoTime();
+                    final var modified = source.isModified(comparator, comparesRanges(comparator));
+                    comparison += System.nanoTime() - comparisonStart;
+                    comparisonEvent.end();
+                    if (comparisonEvent.shouldCommit()) {
+                        comparisonEvent.source = source.getAbsoluteFile();
+                        comparisonEvent.comparator = comparatorName(comparator);
+                        comparisonEvent.modified = modified;
+                        comparisonEvent.commit();
+                    }
+                    report.source(source);
                     if (source.isTouched() && modified) {
                         Tracer.log("SaveSource", source.getAbsoluteFile());
-                        source.save();
+                        writer.write(source);
                         modifiedSources.add(source);
                         generated = true;
                     } else {
                         Tracer.log("SourceUnchanged", source.getAbsoluteFile());
                     }
                     // if we create diff, and they are different even if not different enough to fail
-                    if (diffDirectory != null && ((comparator == EQUALS_COMPARATOR && modified) || source.isModified(EQUALS_COMPARATOR))) {
+                    if (diffDirectory != null && ((comparator == EQUALS_COMPARATOR && modified) || source.isModified(EQUALS_COMPARATOR, true))) {
                         createDiffFiles(source);
                     }
                 } catch (GeciException e) {
                     throw new SourcedGeciException(source, e);
                 }
             }
+            writer.commit();
+            report.written(writer);
+            event.end();
+            if (event.shouldCommit()) {
+                event.files = writer.filesWritten();
+                event.bytes = writer.bytesWritten();
+                event.commit();
+            }
+            report.add(GenerationReport.Stage.COMPARISON, comparison);
+            report.add(GenerationReport.Stage.SAVE, System.nanoTime() - start - comparison);
             for (var source : Stream.concat(collector.getSources().stream(), collector.getNewSources().stream()).collect(Collectors.toSet())) {
                 if (modifiedSources.contains(source)) {
                     if ((whatToLog & ~MODIFIED) == 0) {
@@ -669,19 +1097,19 @@ public class Geci implements javax0.geci.api.Geci {
             }
             switch (entry.level) {
                 case SourceLogger.TRACE:
-                    LOG.trace(generatorId + ":" + entry.message);
+                    LOG.trace("%s:%s", generatorId, entry.message);
                     break;
                 case SourceLogger.DEBUG:
-                    LOG.debug(generatorId + ":" + entry.message);
+                    LOG.debug("%s:%s", generatorId, entry.message);
                     break;
                 case SourceLogger.INFO:
-                    LOG.info(generatorId + ":" + entry.message);
+                    LOG.info("%s:%s", generatorId, entry.message);
                     break;
                 case SourceLogger.WARNING:
-                    LOG.warning(generatorId + ":" + entry.message);
+                    LOG.warning("%s:%s", generatorId, entry.message);
                     break;
                 case SourceLogger.ERROR:
-                    LOG.error(generatorId + ":" + entry.message);
+                    LOG.error("%s:%s", generatorId, entry.message);
                     break;
             }
         }
@@ -697,22 +1125,30 @@ public class Geci implements javax0.geci.api.Geci {
      */
     private boolean sourcesConsolidate(FileCollector collector) {
         try (final var pos1 = Tracer.push("SourceConsolidation", null)) {
+            final var event = new GeciEvents.Consolidation();
+            event.begin();
             var touched = false;
             try (final var pos2 = Tracer.push("OldSources", null)) {
                 for (var source : collector.getSources()) {
                     source.consolidate();
                     touched = touched || source.isTouched();
-                    Tracer.log("Source", (source.isTouched() ? "[TOUCHED]" : "") + source.getAbsoluteFile());
+                    Tracer.logLazy("Source", () -> (source.isTouched() ? "[TOUCHED]" : "") + source.getAbsoluteFile());
                 }
             }
             try (final var pos2 = Tracer.push("NewSources", null)) {
                 for (var source : collector.getNewSources()) {
                     source.consolidate();
                     touched = touched || source.isTouched();
-                    Tracer.log("Source", (source.isTouched() ? "[TOUCHED]" : "") + source.getAbsoluteFile());
+                    Tracer.logLazy("Source", () -> (source.isTouched() ? "[TOUCHED]" : "") + source.getAbsoluteFile());
                 }
             }
             Tracer.log("Result", "some sources are " + (touched ? "touched" : "virgin"));
+            event.end();
+            if (event.shouldCommit()) {
+                event.sources = collector.getSources().size() + collector.getNewSources().size();
+                event.touched = touched;
+                event.commit();
+            }
             return touched;
         }
     }
@@ -738,11 +1174,17 @@ public class Geci implements javax0.geci.api.Geci {
      * object into each and every generator. If there was no context injected during the configuration of the Geci
      * object then a {@link javax0.geci.engine.Context} context implementation is injected. If there was a context
      * injected during the configuration of the Geci object then that object is injected into the generators.</p>
+     *
+     * <p>A new, empty {@link AnnotationIndex} and {@link ReflectionCache} is put into the context, they are valid for
+     * one run.</p>
      */
     private void injectContextIntoGenerators() {
         if (context == null) {
             context = javax0.geci.engine.Context.singletonInstance;
         }
+        AnnotationIndex.reset(context);
+        ReflectionCache.reset(context);
+        reflectionCache = ReflectionCache.of(context);
         generators.forEach(g -> g.context(context));
     }
 
@@ -0,0 +1,134 @@
+package javax0.geci.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>JDK Flight Recorder events emitted by the engine.</p>
+ *
+ * <p>The events are disabled by default. They have to be enabled in the settings file of the recording, for
+ * example</p>
+ *
+ * <pre>{@code
+ *   <event name="javax0.geci.Generator">
+ *     <setting name="enabled">true</setting>
+ *     <setting name="threshold">0 ms</setting>
+ *   </event>
+ * }</pre>
+ *
+ * <p>and starting the JVM of the tests with {@code -XX:StartFlightRecording=filename=geci.jfr,settings=geci.jfc}.
+ * The events are created, begun and committed on the paths they time. When an event is not enabled the JIT compiled
+ * code reduces the event to a single check and the fields of the event, which may need calculation, are set only when
+ * {@code shouldCommit()} returns {@code true}.</p>
+ */
+final class GeciEvents {
+    private static final String CATEGORY = "Java::Geci";
+
+    private GeciEvents() {
+    }
+
+    @Name("javax0.geci.FileCollection")
+    @Label("File Collection")
+    @Description("Collecting the source files of a source set")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class FileCollection extends Event {
+        @Label("Source Set")
+        String sourceSet;
+        @Label("Directories")
+        String directories;
+        @Label("Collected Files")
+        int files;
+    }
+
+    @Name("javax0.geci.SourceRead")
+    @Label("Source Read")
+    @Description("Reading a source file into memory")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class SourceRead extends Event {
+        @Label("Path")
+        String path;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+        @Label("Lines")
+        int lines;
+    }
+
+    @Name("javax0.geci.Generator")
+    @Label("Generator")
+    @Description("One invocation of Generator.process() on a source")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class Generator extends Event {
+        @Label("Generator Class")
+        Class<?> generator;
+        @Label("Source Path")
+        String source;
+        @Label("Phase")
+        int phase;
+    }
+
+    @Name("javax0.geci.GlobalGenerator")
+    @Label("Global Generator")
+    @Description("One invocation of GlobalGenerator.process()")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class GlobalGenerator extends Event {
+        @Label("Generator Class")
+        Class<?> generator;
+    }
+
+    @Name("javax0.geci.Consolidation")
+    @Label("Consolidation")
+    @Description("Merging the segments into the sources")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class Consolidation extends Event {
+        @Label("Sources")
+        int sources;
+        @Label("Touched")
+        boolean touched;
+    }
+
+    @Name("javax0.geci.Comparison")
+    @Label("Comparison")
+    @Description("Evaluating the comparator to decide if a source was modified")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class Comparison extends Event {
+        @Label("Source Path")
+        String source;
+        @Label("Comparator")
+        String comparator;
+        @Label("Modified")
+        boolean modified;
+    }
+
+    @Name("javax0.geci.Save")
+    @Label("Save")
+    @Description("Writing the modified sources")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static class Save extends Event {
+        @Label("Files")
+        long files;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
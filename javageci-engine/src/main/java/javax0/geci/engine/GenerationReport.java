@@ -0,0 +1,370 @@
+package javax0.geci.engine;
+
+import javax0.geci.api.Generator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Timing and I/O metrics of one code generation run. The report of the last run is returned by {@link
+ * Geci#metrics()}.</p>
+ *
+ * <p>The report contains</p>
+ *
+ * <ul>
+ *     <li>the wall clock time spent in the different stages of the code generation (see {@link Stage}),</li>
+ *     <li>the number of invocations, the wall clock and the CPU time of each generator in each phase (global
+ *     generators are reported with the phase {@code -1}) if it was switched on calling {@link
+ *     Geci#metrics(boolean)},</li>
+ *     <li>the number of files, bytes and lines read and written, and</li>
+ *     <li>the number of segments opened in each source.</li>
+ * </ul>
+ *
+ * <p>The report can be exported in JSON format calling {@link #toJson()} or in CSV format calling {@link #toCsv()}
+ * so that it can be stored and compared between builds.</p>
+ */
+public class GenerationReport {
+
+    /**
+     * The stages of the code generation that are timed.
+     */
+    public enum Stage {
+        /**
+         * Collecting the source files.
+         */
+        COLLECTION,
+        /**
+         * Resolving the classes of the sources before the first phase, see {@link Geci#resolveClassesEagerly()}.
+         */
+        CLASS_RESOLUTION,
+        /**
+         * Invoking the generators on the sources in all the phases.
+         */
+        GENERATION,
+        /**
+         * Invoking the global generators.
+         */
+        GLOBAL_GENERATION,
+        /**
+         * Merging the segments into the sources.
+         */
+        CONSOLIDATION,
+        /**
+         * Comparing the generated sources with the original ones.
+         */
+        COMPARISON,
+        /**
+         * Writing the modified sources.
+         */
+        SAVE
+    }
+
+    /**
+     * The timing of one generator in one phase.
+     */
+    public static class GeneratorTiming {
+        private final String generator;
+        private final int phase;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+
+        private GeneratorTiming(String generator, int phase) {
+            this.generator = generator;
+            this.phase = phase;
+        }
+
+        private void add(long wall, long cpu) {
+            invocations.increment();
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+        }
+
+        /**
+         * @return the class name of the generator
+         */
+        public String generator() {
+            return generator;
+        }
+
+        /**
+         * @return the phase, or {@code -1} for a global generator
+         */
+        public int phase() {
+            return phase;
+        }
+
+        public long invocations() {
+            return invocations.sum();
+        }
+
+        public long wallNanos() {
+            return wallNanos.sum();
+        }
+
+        /**
+         * @return the CPU time the generator used, or zero if the JVM does not support measuring the CPU time of the
+         * threads
+         */
+        public long cpuNanos() {
+            return cpuNanos.sum();
+        }
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final Map<Stage, AtomicLong> stages = new EnumMap<>(Stage.class);
+    private final Map<String, GeneratorTiming> generators = new ConcurrentHashMap<>();
+    private final Map<String, Integer> segments = new TreeMap<>();
+    private long filesRead;
+    private long bytesRead;
+    private long linesRead;
+    private long filesWritten;
+    private long bytesWritten;
+    private long linesWritten;
+
+    GenerationReport() {
+        for (final var stage : Stage.values()) {
+            stages.put(stage, new AtomicLong());
+        }
+    }
+
+    /**
+     * Add the time to the stage.
+     *
+     * @param stage the stage
+     * @param start the value of {@link System#nanoTime()} when the stage (or the part of the stage) started
+     */
+    void stage(Stage stage, long start) {
+        add(stage, System.nanoTime() - start);
+    }
+
+    /**
+     * Add the time to the stage.
+     *
+     * @param stage the stage
+     * @param nanos the time spent in the stage in nanoseconds
+     */
+    void add(Stage stage, long nanos) {
+        stages.get(stage).addAndGet(nanos);
+    }
+
+    /**
+     * @return the CPU time of the current thread, or zero if it cannot be measured
+     */
+    static long cpuTime() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Record one invocation of a generator. This method can be called from several threads.
+     *
+     * @param generator the generator that was invoked
+     * @param phase     the phase or {@code -1} for a global generator
+     * @param wallStart the value of {@link System#nanoTime()} when the invocation started
+     * @param cpuStart  the value of {@link #cpuTime()} when the invocation started
+     */
+    void generator(Generator generator, int phase, long wallStart, long cpuStart) {
+        final var wall = System.nanoTime() - wallStart;
+        final var cpu = cpuTime() - cpuStart;
+        final var name = generator.getClass().getName();
+        generators.computeIfAbsent(name + "\t" + phase, k -> new GeneratorTiming(name, phase)).add(wall, cpu);
+    }
+
+    /**
+     * Record the I/O and the segments of a source after the code generation finished.
+     *
+     * @param source the source
+     */
+    void source(Source source) {
+        if (source.linesRead > 0 || source.bytesRead > 0) {
+            filesRead++;
+            bytesRead += source.bytesRead;
+            linesRead += source.linesRead;
+        }
+        final int segmentCount = source.segmentCount();
+        if (segmentCount > 0) {
+            segments.put(source.getAbsoluteFile(), segmentCount);
+        }
+    }
+
+    /**
+     * Record the files written by the writer.
+     *
+     * @param writer the writer that saved the sources
+     */
+    void written(SourceWriter writer) {
+        filesWritten += writer.filesWritten();
+        bytesWritten += writer.bytesWritten();
+        linesWritten += writer.linesWritten();
+    }
+
+    /**
+     * @param stage the stage
+     * @return the wall clock time spent in the stage in nanoseconds
+     */
+    public long stageNanos(Stage stage) {
+        return stages.get(stage).get();
+    }
+
+    /**
+     * @return the timings of the generators ordered by the generator class name and the phase
+     */
+    public List<GeneratorTiming> generators() {
+        final var list = new ArrayList<>(generators.values());
+        list.sort(Comparator.comparing(GeneratorTiming::generator).thenComparingInt(GeneratorTiming::phase));
+        return list;
+    }
+
+    /**
+     * @return the number of segments opened in the sources keyed by the absolute file names. Sources that had no
+     * segment opened are not listed.
+     */
+    public Map<String, Integer> segments() {
+        return new TreeMap<>(segments);
+    }
+
+    public long filesRead() {
+        return filesRead;
+    }
+
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    public long linesRead() {
+        return linesRead;
+    }
+
+    public long filesWritten() {
+        return filesWritten;
+    }
+
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    public long linesWritten() {
+        return linesWritten;
+    }
+
+    /**
+     * @return the report as a JSON object
+     */
+    public String toJson() {
+        final var sb = new StringBuilder("{\n  \"stages\": {");
+        var separator = "\n";
+        for (final var stage : Stage.values()) {
+            sb.append(separator).append("    ").append(quote(stage.name().toLowerCase(Locale.ROOT))).append(": ").append(stageNanos(stage));
+            separator = ",\n";
+        }
+        sb.append("\n  },\n  \"generators\": [");
+        separator = "\n";
+        for (final var timing : generators()) {
+            sb.append(separator).append("    {\"generator\": ").append(quote(timing.generator()))
+                .append(", \"phase\": ").append(timing.phase())
+                .append(", \"invocations\": ").append(timing.invocations())
+                .append(", \"wallNanos\": ").append(timing.wallNanos())
+                .append(", \"cpuNanos\": ").append(timing.cpuNanos()).append("}");
+            separator = ",\n";
+        }
+        sb.append("\n  ],\n  \"io\": {")
+            .append("\n    \"filesRead\": ").append(filesRead)
+            .append(",\n    \"bytesRead\": ").append(bytesRead)
+            .append(",\n    \"linesRead\": ").append(linesRead)
+            .append(",\n    \"filesWritten\": ").append(filesWritten)
+            .append(",\n    \"bytesWritten\": ").append(bytesWritten)
+            .append(",\n    \"linesWritten\": ").append(linesWritten)
+            .append("\n  },\n  \"segments\": {");
+        separator = "\n";
+        for (final var entry : segments.entrySet()) {
+            sb.append(separator).append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        return sb.append("\n  }\n}\n").toString();
+    }
+
+    /**
+     * Get the report in CSV format. Every line contains one value with the columns {@code
+     * type,name,phase,metric,value}. The type is one of {@code stage}, {@code generator}, {@code io} and {@code
+     * segments}. The phase column is empty except for the generators.
+     *
+     * @return the report in CSV format with a header line
+     */
+    public String toCsv() {
+        final var sb = new StringBuilder("type,name,phase,metric,value\n");
+        for (final var stage : Stage.values()) {
+            csv(sb, "stage", stage.name().toLowerCase(Locale.ROOT), "", "wallNanos", stageNanos(stage));
+        }
+        for (final var timing : generators()) {
+            final var phase = Integer.toString(timing.phase());
+            csv(sb, "generator", timing.generator(), phase, "invocations", timing.invocations());
+            csv(sb, "generator", timing.generator(), phase, "wallNanos", timing.wallNanos());
+            csv(sb, "generator", timing.generator(), phase, "cpuNanos", timing.cpuNanos());
+        }
+        csv(sb, "io", "read", "", "files", filesRead);
+        csv(sb, "io", "read", "", "bytes", bytesRead);
+        csv(sb, "io", "read", "", "lines", linesRead);
+        csv(sb, "io", "written", "", "files", filesWritten);
+        csv(sb, "io", "written", "", "bytes", bytesWritten);
+        csv(sb, "io", "written", "", "lines", linesWritten);
+        for (final var entry : segments.entrySet()) {
+            csv(sb, "segments", entry.getKey(), "", "count", entry.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static void csv(StringBuilder sb, String type, String name, String phase, String metric, long value) {
+        sb.append(type).append(',').append(csvField(name)).append(',').append(phase).append(',')
+            .append(metric).append(',').append(value).append('\n');
+    }
+
+    private static String csvField(String s) {
+        if (s.contains(",") || s.contains("\"") || s.contains("\n")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+
+    private static String quote(String s) {
+        final var sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
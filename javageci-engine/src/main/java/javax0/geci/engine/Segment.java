@@ -5,20 +5,26 @@ import javax0.geci.api.GeciException;
 import javax0.geci.tools.Template;
 import javax0.geci.tools.Tracer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class Segment implements javax0.geci.api.Segment {
     private static final int TAB = 4;
-    final List<String> preface = new LinkedList<>();
-    final List<String> lines = new LinkedList<>();
-    final List<String> postface = new LinkedList<>();
+    /**
+     * The indentation strings for the tab stops, created when first needed. The element {@code i} is the string of
+     * {@code i} spaces.
+     */
+    private static final String[] INDENTS = new String[128];
+    final List<String> preface = new ArrayList<>();
+    final ArrayList<String> lines = new ArrayList<>();
+    final List<String> postface = new ArrayList<>();
     final private int openingTabStop;
     private int tabStop;
     private final Map<String, String> params = new HashMap<>();
@@ -26,6 +32,59 @@ public class Segment implements javax0.geci.api.Segment {
     private final List<String> originals;
     private long touchBits = 0;
 
+    /**
+     * @param tabStop the number of spaces
+     * @return the string containing {@code tabStop} spaces
+     */
+    static String indent(int tabStop) {
+        if (tabStop <= 0) {
+            return "";
+        }
+        if (tabStop >= INDENTS.length) {
+            return " ".repeat(tabStop);
+        }
+        var indent = INDENTS[tabStop];
+        if (indent == null) {
+            indent = " ".repeat(tabStop);
+            INDENTS[tabStop] = indent;
+        }
+        return indent;
+    }
+
+    /**
+     * Split the text into lines at the {@code \n} and {@code \r\n} line terminators and pass the lines to the
+     * consumer. The result is the same as {@code text.split("\r?\n", -1)} without the regular expression and without
+     * creating an array.
+     *
+     * @param text     the text to split
+     * @param consumer is invoked with each line in order
+     */
+    static void forEachLine(CharSequence text, Consumer<String> consumer) {
+        final var s = text.toString();
+        int start = 0;
+        int newline;
+        while ((newline = s.indexOf('\n', start)) >= 0) {
+            final int end = newline > start && s.charAt(newline - 1) == '\r' ? newline - 1 : newline;
+            consumer.accept(s.substring(start, end));
+            start = newline + 1;
+        }
+        consumer.accept(s.substring(start));
+    }
+
+    /**
+     * @param s the string to check
+     * @return {@code true} if the string contains only white space and control characters, the same characters that
+     * {@link String#trim()} removes
+     */
+    private static boolean isBlank(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public Segment(int tabStop) {
         this.openingTabStop = tabStop;
         this.tabStop = tabStop;
@@ -112,14 +171,14 @@ public class Segment implements javax0.geci.api.Segment {
     @Override
     public void setPreface(String... preface) {
         for (String s : preface) {
-            this.preface.add((tabStop > 0 ? String.format("%" + tabStop + "s", " ") : "") + s);
+            this.preface.add(indent(tabStop) + s);
         }
     }
 
     @Override
     public void setPostface(String... postface) {
         for (String s : postface) {
-            this.postface.add((tabStop > 0 ? String.format("%" + tabStop + "s", " ") : "") + s);
+            this.postface.add(indent(tabStop) + s);
         }
     }
 
@@ -133,6 +192,43 @@ public class Segment implements javax0.geci.api.Segment {
     public void close() {
     }
 
+    /**
+     * A segment is dirty if merging it into the source would change the lines of the source. It is not dirty when
+     * the preface, the generated lines and the postface are the same as the lines that are currently in the place of
+     * the segment, or when nothing was generated into an empty segment.
+     *
+     * @param current the lines currently between the start and the end of the segment in the source
+     * @return {@code true} if the segment has to be merged into the source
+     */
+    boolean isDirty(List<String> current) {
+        if (lines.isEmpty() && current.isEmpty()) {
+            return false;
+        }
+        if (preface.size() + lines.size() + postface.size() != current.size()) {
+            return true;
+        }
+        final var currentLines = current.iterator();
+        for (final var part : List.of(preface, lines, postface)) {
+            for (final var line : part) {
+                if (!line.equals(currentLines.next())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the lines that replace the segment in the source: the preface, the generated lines and the postface
+     */
+    List<String> mergedLines() {
+        final var merged = new ArrayList<String>(preface.size() + lines.size() + postface.size());
+        merged.addAll(preface);
+        merged.addAll(lines);
+        merged.addAll(postface);
+        return merged;
+    }
+
     @Override
     public Segment write(javax0.geci.api.Segment segment) {
         if (segment != null) {
@@ -150,12 +246,12 @@ public class Segment implements javax0.geci.api.Segment {
     @Override
     public Segment write(String s, Object... parameters) {
         if (s != null) {
-            if (!s.contains("\n") && s.trim().length() == 0) {
+            if (s.indexOf('\n') < 0 && isBlank(s)) {
                 newline();
             } else {
                 final String formatted;
                 if (!params.isEmpty()) {
-                    formatted = new Template(params).resolve(parameters.length == 0 ? s : String.format(s, parameters));
+                    formatted = (parameters.length == 0 ? Template.compile(s) : Template.parse(String.format(s, parameters))).render(params);
                 } else {
                     if (parameters.length == 0) {
                         formatted = s;
@@ -163,16 +259,61 @@ public class Segment implements javax0.geci.api.Segment {
                         formatted = String.format(s, parameters);
                     }
                 }
-                if (formatted.contains("\n")) {
-                    Arrays.stream(formatted.split("\r?\n", -1)).forEach(this::write);
+                if (formatted.indexOf('\n') >= 0) {
+                    forEachLine(formatted, line -> write(line));
                 } else {
-                    lines.add((tabStop > 0 ? String.format("%" + tabStop + "s", " ") : "") + formatted);
+                    lines.add(indent(tabStop) + formatted);
                 }
             }
         }
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation adds the lines to the segment directly. The lines are not scanned for the segment
+     * parameters when there are no parameters defined, and the lines are never scanned for format specifiers.
+     */
+    @Override
+    public Segment writeLines(List<String> lines) {
+        if (lines != null) {
+            this.lines.ensureCapacity(this.lines.size() + lines.size());
+            for (final var line : lines) {
+                writeLine(line);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Segment writeBlock(CharSequence block) {
+        if (block != null) {
+            forEachLine(block, this::writeLine);
+        }
+        return this;
+    }
+
+    /**
+     * Write a single line that is not a format string. The result is the same as calling {@code write("%s", line)}
+     * except that a blank line is written as an empty line. The lines are usually generated text written only once,
+     * therefore they are not put into the template cache.
+     *
+     * @param line the line to write
+     */
+    private void writeLine(String line) {
+        if (isBlank(line)) {
+            lines.add("");
+            return;
+        }
+        final var resolved = params.isEmpty() ? line : Template.parse(line).render(params);
+        if (resolved.indexOf('\n') >= 0) {
+            forEachLine(resolved, s -> write(s));
+        } else {
+            lines.add(indent(tabStop) + resolved);
+        }
+    }
+
     @Override
     public Segment newline() {
         lines.add("");
@@ -10,8 +10,12 @@ import javax0.geci.api.SegmentSplitHelper;
 import javax0.geci.tools.GeciReflectionTools;
 import javax0.geci.util.JavaSegmentSplitHelper;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,7 +26,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 public class Source implements javax0.geci.api.Source {
     final List<String> lines = new ArrayList<>();
@@ -35,11 +41,32 @@ public class Source implements javax0.geci.api.Source {
     private final SegmentSplitHelper splitHelper;
     boolean inMemory = false;
     private Segment globalSegment = null;
+    long bytesRead = 0;
+    long linesRead = 0;
     private boolean touched = false;
     private long touchBits = 0;
     boolean allowDefaultSegment = false;
     boolean isBinary = false;
+    /**
+     * The bytes of the file when they were already read by the incremental index (see {@link
+     * SourceIndex#isUnchanged(Source)}). The lines are decoded from these bytes when they are needed the first time and
+     * the bytes are dropped.
+     */
+    byte[] content = null;
     private boolean isBorrowed = false;
+    private SegmentIndex segmentIndex = null;
+    /**
+     * The objects calculated from the lines, see {@link #cached(Object, Supplier)}. Cleared when the lines change.
+     */
+    private final Map<Object, Object> cached = new ConcurrentHashMap<>();
+    private final List<Change> changes = new ArrayList<>();
+    private boolean linesRewritten = false;
+    /**
+     * The class of the source once it was resolved, or {@code null} if there is no such class. The value is valid only
+     * if {@link #klassResolved} is {@code true}.
+     */
+    private Class<?> klass = null;
+    private volatile boolean klassResolved = false;
 
     public MockSourceStore getSourceStore() {
         if( store instanceof MockSourceStore) {
@@ -173,10 +200,22 @@ public class Source implements javax0.geci.api.Source {
      * @param path      the path of the source
      */
     Source(FileCollector collector, String dir, Path path) {
+        this(collector, dir, path, FileCollector.toAbsolute(path));
+    }
+
+    /**
+     * The same as {@link #Source(FileCollector, String, Path)} when the absolute file name was already calculated.
+     *
+     * @param collector    see {@link #Source(FileCollector, String, Path)}
+     * @param dir          see {@link #Source(FileCollector, String, Path)}
+     * @param path         see {@link #Source(FileCollector, String, Path)}
+     * @param absoluteFile the absolute file name as calculated by {@link FileCollector#toAbsolute(Path)}
+     */
+    Source(FileCollector collector, String dir, Path path, String absoluteFile) {
         this.collector = collector;
         className = FileCollector.calculateClassName(dir, path);
         relativeFile = FileCollector.calculateRelativeName(dir, path);
-        absoluteFile = FileCollector.toAbsolute(path);
+        this.absoluteFile = absoluteFile;
         splitHelper = collector.getSegmentSplitHelper(this);
         store = new FileSystemSourceStore(this.collector, relativeFile, dir);
     }
@@ -250,6 +289,9 @@ public class Source implements javax0.geci.api.Source {
         if (lines != null) {
             this.lines.clear();
             this.lines.addAll(lines);
+            invalidateSegmentIndex();
+            cached.clear();
+            linesRewritten = true;
         }
         isBorrowed = false;
         touched = true;
@@ -262,6 +304,8 @@ public class Source implements javax0.geci.api.Source {
         }
         final var lines = getLines();
         isBorrowed = true;
+        linesRewritten = true;
+        cached.clear();
         return lines;
     }
 
@@ -272,6 +316,27 @@ public class Source implements javax0.geci.api.Source {
         return lines;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The calculated objects are stored in the source object until the lines may be modified: borrowed or returned
+     * modified by a generator or rewritten during consolidation.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T cached(Object key, Supplier<T> calculator) {
+        var value = cached.get(key);
+        if (value == null) {
+            // not computeIfAbsent, the calculator may read the lines and that may clear the cache
+            value = calculator.get();
+            final var previous = cached.putIfAbsent(key, value);
+            if (previous != null) {
+                value = previous;
+            }
+        }
+        return (T) value;
+    }
+
     /**
      * Read the content of the source into the object from the file. In case there is an
      * {@code IOException} then we treat it like the file does not exist yet. No lines, but
@@ -310,6 +375,13 @@ public class Source implements javax0.geci.api.Source {
         return segments.keySet();
     }
 
+    /**
+     * @return the number of the segments opened in this source including the global segment
+     */
+    int segmentCount() {
+        return segments.size() + (globalSegment == null ? 0 : 1);
+    }
+
     @Override
     public Segment temporary() {
         assertTouching();
@@ -364,7 +436,7 @@ public class Source implements javax0.geci.api.Source {
                 }
                 defaultSegment = true;
             }
-            try (final var segment = new Segment(segDesc.tab, segDesc.attr, segDesc.originals)) {
+            try (final var segment = new Segment(segDesc.tab, segDesc.attr, defaultSegment ? null : segmentLines(segDesc))) {
                 if (defaultSegment) {
                     segment.setPreface(mnemonize(id, splitHelper.getSegmentPreface()));
                     segment.setPostface(mnemonize(id, splitHelper.getSegmentPostface()));
@@ -385,13 +457,24 @@ public class Source implements javax0.geci.api.Source {
         return className.replaceAll("^.*\\.", "");
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The class is resolved only once. The result, also when the class cannot be found, is cached in the source
+     * object, which lives as long as the code generation run. The generators calling this method for every source in
+     * every phase do not need to load the class or get the {@link ClassNotFoundException} again.
+     */
     @Override
     public Class<?> getKlass() {
-        try {
-            return GeciReflectionTools.classForName(className);
-        } catch (ClassNotFoundException | NoClassDefFoundError e) {
-            return null;
+        if (!klassResolved) {
+            try {
+                klass = GeciReflectionTools.classForName(className);
+            } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                klass = null;
+            }
+            klassResolved = true;
         }
+        return klass;
     }
 
     final List<SourceLogger.LogEntry> logEntries = new ArrayList<>();
@@ -415,7 +498,8 @@ public class Source implements javax0.geci.api.Source {
     }
 
     /**
-     * Replace the original content of the segments with the generated lines.
+     * Replace the original content of the segments with the generated lines. Segments that are not dirty (see {@link
+     * Segment#isDirty(List)}) are not merged, the lines are already there.
      */
     public void consolidate() {
         assertNotBorrowed();
@@ -442,18 +526,47 @@ public class Source implements javax0.geci.api.Source {
             touched = true;
             lines.clear();
             lines.addAll(globalSegment.lines);
+            invalidateSegmentIndex();
+            cached.clear();
+            linesRewritten = true;
         }
     }
 
+    /**
+     * Replace the lines of the segment in the source with the lines of the preface, the generated lines and the
+     * postface if the segment is dirty. The segment index is updated shifting the recorded line positions so that the
+     * next segment can be merged without scanning the lines again. The replaced and the new lines are recorded as a
+     * change so that the modification check can compare only the changed ranges.
+     *
+     * @param segment         the segment containing the generated lines
+     * @param segmentLocation the location of the segment in the lines
+     */
     private void mergeSegment(Segment segment, SegmentDescriptor segmentLocation) {
-        if (segmentLocation.startLine < segmentLocation.endLine
-            || segment.lines.size() > 0) {
-            if (segmentLocation.startLine < segmentLocation.endLine) {
-                lines.subList(segmentLocation.startLine, segmentLocation.endLine).clear();
+        final int start = segmentLocation.startLine;
+        final int end = segmentLocation.endLine;
+        final var current = lines.subList(start, end);
+        if (segment.isDirty(current)) {
+            final var merged = segment.mergedLines();
+            changes.add(new Change(new ArrayList<>(current), merged));
+            current.clear();
+            lines.addAll(start, merged);
+            cached.clear();
+            if (!segmentIndex().merged(lines, segmentLocation, start, end, merged.size())) {
+                invalidateSegmentIndex();
             }
-            lines.addAll(segmentLocation.startLine, segment.postface);
-            lines.addAll(segmentLocation.startLine, segment.lines);
-            lines.addAll(segmentLocation.startLine, segment.preface);
+        }
+    }
+
+    /**
+     * The lines of a segment before and after the merge.
+     */
+    private static class Change {
+        final List<String> before;
+        final List<String> after;
+
+        private Change(List<String> before, List<String> after) {
+            this.before = before;
+            this.after = after;
         }
     }
 
@@ -465,18 +578,25 @@ public class Source implements javax0.geci.api.Source {
     }
 
     /**
-     * Saves the modified lines to the file.
+     * Decide if the file was modified. When the lines of the source were changed only merging the segments then the
+     * comparator can be invoked on the changed segment ranges only, provided that the comparator is decided on the
+     * ranges the same way as on the whole file (see {@link Geci#comparesRanges(BiPredicate)}). If no segment was
+     * changed then the comparator is not invoked at all.
+     *
+     * @param sourceModified the comparator
+     * @param byRanges       {@code true} if the comparator can be used on the changed ranges
+     * @return {@code true} if the file was modified
      */
-    void save() throws IOException {
-        final Path path = Paths.get(absoluteFile);
-        final Path parent = path.getParent();
-        if (!Files.exists(parent)) {
-            try {
-                Files.createDirectories(parent);
-            } catch (Exception ignored) {
+    boolean isModified(BiPredicate<List<String>, List<String>> sourceModified, boolean byRanges) {
+        if (!byRanges || linesRewritten) {
+            return isModified(sourceModified);
+        }
+        for (final var change : changes) {
+            if (sourceModified.test(change.before, change.after)) {
+                return true;
             }
         }
-        Files.write(path, lines, StandardCharsets.UTF_8);
+        return false;
     }
 
     /**
@@ -484,16 +604,41 @@ public class Source implements javax0.geci.api.Source {
      * Each element of the list will contain one line of the file. The list in {@code lines}
      * is updated by code generation, while {@code originals} is kept as a reference to decide
      * during the save process if the lines have to be written back to the file or not.
+     * <p>
+     * The first block of the file is checked by the {@link BinarySniffer} before decoding the file. Binary files are
+     * recognized this way without decoding them. The lines are copied into the fields only after the whole file was
+     * decoded. If the incremental index has already read the file then the bytes it read are decoded, the file is not
+     * read again.
      *
      * @throws IOException if the file cannot be read
      */
     private void readToMemory() throws IOException {
-        try (final var stream = Files.lines(Paths.get(absoluteFile))) {
-            stream.forEach(line -> {
-                lines.add(line);
-                originals.add(line);
-            });
+        final var event = new GeciEvents.SourceRead();
+        event.begin();
+        final var path = Paths.get(absoluteFile);
+        final var bytes = content;
+        content = null;
+        if (bytes != null ? BinarySniffer.isBinary(bytes, Math.min(bytes.length, BinarySniffer.BLOCK_SIZE), bytes.length <= BinarySniffer.BLOCK_SIZE)
+            : Files.exists(path) && BinarySniffer.isBinary(path)) {
+            isBinary = true;
+            throw new SourceIsBinary(absoluteFile);
+        }
+        try (final var stream = bytes != null ? decode(bytes).lines() : Files.lines(path)) {
+            final var read = new ArrayList<String>();
+            stream.forEach(read::add);
+            lines.addAll(read);
+            originals.addAll(read);
+            linesRead = read.size();
+            bytesRead = bytes != null ? bytes.length : Files.size(path);
             inMemory = true;
+            invalidateSegmentIndex();
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = absoluteFile;
+                event.bytes = bytesRead;
+                event.lines = read.size();
+                event.commit();
+            }
         } catch (IOException e) {
             throw e;
         } catch (UncheckedIOException e) {
@@ -504,19 +649,45 @@ public class Source implements javax0.geci.api.Source {
         }
     }
 
+    /**
+     * Decode the bytes of the file the same way as {@link Files#lines(Path)} does: malformed input is an error and not
+     * replaced.
+     *
+     * @param bytes the content of the file
+     * @return the reader to read the lines from
+     * @throws UncheckedIOException if the bytes are not valid UTF-8
+     */
+    private static BufferedReader decode(byte[] bytes) {
+        try {
+            return new BufferedReader(new StringReader(StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString()));
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the segment index of the source. The index is built when it is needed the first time after the lines were
+     * read or replaced.
+     *
+     * @return the segment index
+     */
+    private SegmentIndex segmentIndex() {
+        if (segmentIndex == null) {
+            segmentIndex = new SegmentIndex(lines, splitHelper);
+        }
+        return segmentIndex;
+    }
+
+    /**
+     * Invalidate the segment index. It will be rebuilt scanning the lines the next time it is needed.
+     */
+    private void invalidateSegmentIndex() {
+        segmentIndex = null;
+    }
+
     private SegmentDescriptor findDefaultSegment() {
         if (allowDefaultSegment) {
-            for (int i = lines.size() - 1; 0 < i; i--) {
-                final var matcher = splitHelper.match(lines, i);
-                if (matcher.isDefaultSegmentEnd()) {
-                    var seg = new SegmentDescriptor();
-                    seg.attr = null;
-                    seg.startLine = i + matcher.headerLength();
-                    seg.endLine = i;
-                    seg.tab = matcher.tabbing();
-                    return seg;
-                }
-            }
+            return segmentIndex().defaultSegment;
         }
         return null;
     }
@@ -529,32 +700,11 @@ public class Source implements javax0.geci.api.Source {
      * with the given 'id'.
      */
     private SegmentDescriptor findSegment(String id) {
-        for (int i = 0; i < lines.size(); i++) {
-            var line = lines.get(i);
-            final var matcher = splitHelper.match(lines, i);
-            if (matcher.isSegmentStart()) {
-                var attr = matcher.attributes();
-                if (id.equals(attr.id())) {
-                    var seg = new SegmentDescriptor();
-                    seg.id = id;
-                    seg.originals = new ArrayList<>();
-                    seg.attr = attr;
-                    seg.tab = matcher.tabbing();
-                    seg.startLine = i + matcher.headerLength();
-                    for (int j = seg.startLine; j < lines.size(); j++) {
-                        line = lines.get(j);
-                        final var endMatcher = splitHelper.match(line);
-                        if (endMatcher.isSegmentEnd()) {
-                            seg.endLine = j;
-                            return seg;
-                        }
-                        seg.originals.add(line);
-                    }
-                    throw new GeciException("Segment '" + seg.attr.id() + "'does not end in file " + getAbsoluteFile());
-                }
-            }
+        final var seg = segmentIndex().firstById.get(id);
+        if (seg != null && seg.endLine < 0) {
+            throw new GeciException("Segment '" + seg.attr.id() + "'does not end in file " + getAbsoluteFile());
         }
-        return null;
+        return seg;
     }
 
     private boolean segmentsLoaded = false;
@@ -563,55 +713,154 @@ public class Source implements javax0.geci.api.Source {
         if (segmentsLoaded) {
             return;
         }
-        for (int i = 0; i < lines.size(); i++) {
-            var line = lines.get(i);
-            final var matcher = splitHelper.match(lines, i);
-            if (matcher.isSegmentStart()) {
-                var attr = matcher.attributes();
-                var seg = new SegmentDescriptor();
-                seg.id = attr.id();
-                seg.originals = new ArrayList<>();
-                seg.attr = attr;
-                seg.tab = matcher.tabbing();
-                seg.startLine = i + matcher.headerLength();
-                for (i = seg.startLine; i < lines.size(); i++) {
-                    line = lines.get(i);
-                    final var endMatcher = splitHelper.match(lines, i);
-                    if (endMatcher.isSegmentEnd()) {
-                        seg.endLine = i;
-                        if (!segments.containsKey(seg.id)) {
-                            segments.put(seg.id, new Segment(seg.tab, seg.attr, seg.originals));
-                        } else {
-                            throw new GeciException("Segment " + seg.id + " is defined multiple times in source " + getAbsoluteFile());
-                        }
-                        break;
-                    }
-                    seg.originals.add(line);
-                }
-                if (i >= lines.size()) {
-                    throw new GeciException("Segment '" + seg.attr.id() + "' does not end in file " + getAbsoluteFile());
-                }
+        int lastEnd = -1;
+        for (final var seg : segmentIndex().descriptors) {
+            if (seg.headerLine <= lastEnd) {
+                continue;
+            }
+            if (seg.endLine < 0) {
+                throw new GeciException("Segment '" + seg.attr.id() + "' does not end in file " + getAbsoluteFile());
             }
+            if (!segments.containsKey(seg.id)) {
+                segments.put(seg.id, new Segment(seg.tab, seg.attr, segmentLines(seg)));
+            } else {
+                throw new GeciException("Segment " + seg.id + " is defined multiple times in source " + getAbsoluteFile());
+            }
+            lastEnd = seg.endLine;
         }
         segmentsLoaded = true;
     }
 
     /**
-     * Structure that contains the index in the {@code lines} list where the segment starts,
-     * the attributes specified in the {@code <editor-fold ...>} line and the number of spaces
-     * at the start of the segment starting line. This is used as the initial indentation of the segment.
+     * @param seg the descriptor of the segment
+     * @return a copy of the lines that are currently between the start and the end line of the segment
+     */
+    private List<String> segmentLines(SegmentDescriptor seg) {
+        return new ArrayList<>(lines.subList(seg.startLine, seg.endLine));
+    }
+
+    /**
+     * Structure that contains the index in the {@code lines} list where the segment header and the segment content
+     * starts and where the segment ends, the attributes specified in the {@code <editor-fold ...>} line and the number
+     * of spaces at the start of the segment starting line. This is used as the initial indentation of the segment.
      * <p>
-     * Note that this structure has to be short living and it is mainly to return these values from the function
-     * {@link #findSegment(String)}. When the segments are consolidated the index values in {@code lines}
-     * will change.
+     * The descriptors are kept in the {@link SegmentIndex} and the line index values are shifted by the index when a
+     * segment is merged into the lines during consolidation.
      */
     private static class SegmentDescriptor {
         String id;
-        List<String> originals;
+        int headerLine;
         int startLine;
         int endLine;
         CompoundParams attr;
         int tab;
+
+        private void shift(int delta) {
+            headerLine += delta;
+            startLine += delta;
+            if (endLine >= 0) {
+                endLine += delta;
+            }
+        }
+    }
+
+    /**
+     * The index of the segments of a source, built scanning the lines only once, invoking the split helper only once
+     * for each line. The index contains the descriptors of all segments in the order they appear in the file (including
+     * the segments that are nested into other segments), the first descriptor for each segment id and the descriptor of
+     * the default segment location, which is the last line (except the first line) that matches as default segment
+     * end.
+     * <p>
+     * Segments that do not end have {@code endLine == -1}. It is an error only when such a segment is used.
+     */
+    private static class SegmentIndex {
+        final List<SegmentDescriptor> descriptors = new ArrayList<>();
+        final Map<String, SegmentDescriptor> firstById = new HashMap<>();
+        SegmentDescriptor defaultSegment = null;
+        private final SegmentSplitHelper splitHelper;
+
+        private SegmentIndex(List<String> lines, SegmentSplitHelper splitHelper) {
+            this.splitHelper = splitHelper;
+            final var pending = new ArrayList<SegmentDescriptor>();
+            for (int i = 0; i < lines.size(); i++) {
+                final var matcher = splitHelper.match(lines, i);
+                if (matcher.isSegmentEnd()) {
+                    final int end = i;
+                    pending.removeIf(seg -> {
+                        if (seg.startLine <= end) {
+                            seg.endLine = end;
+                            return true;
+                        }
+                        return false;
+                    });
+                }
+                if (matcher.isSegmentStart()) {
+                    final var seg = new SegmentDescriptor();
+                    seg.attr = matcher.attributes();
+                    seg.id = seg.attr.id();
+                    seg.tab = matcher.tabbing();
+                    seg.headerLine = i;
+                    seg.startLine = i + matcher.headerLength();
+                    seg.endLine = -1;
+                    descriptors.add(seg);
+                    firstById.putIfAbsent(seg.id, seg);
+                    pending.add(seg);
+                }
+                if (i > 0 && matcher.isDefaultSegmentEnd()) {
+                    defaultSegment = new SegmentDescriptor();
+                    defaultSegment.attr = null;
+                    defaultSegment.headerLine = i;
+                    defaultSegment.startLine = i + matcher.headerLength();
+                    defaultSegment.endLine = i;
+                    defaultSegment.tab = matcher.tabbing();
+                }
+            }
+        }
+
+        /**
+         * Update the index after the segment {@code merged} was replaced in the lines. The lines between the original
+         * start and end line of the segment were replaced by {@code inserted} number of lines.
+         *
+         * @param lines    the lines after the merge
+         * @param merged   the descriptor of the segment that was merged
+         * @param start    the start line of the merged segment content
+         * @param end      the end line of the merged segment before the merge
+         * @param inserted the number of the lines that were inserted
+         * @return {@code false} if the index cannot be updated and has to be rebuilt. This is the case when the
+         * inserted lines contain segment start or end lines, or the merge affects segments that are nested or
+         * enclose the merged segment.
+         */
+        private boolean merged(List<String> lines, SegmentDescriptor merged, int start, int end, int inserted) {
+            for (int i = start; i < start + inserted; i++) {
+                final var matcher = splitHelper.match(lines, i);
+                if (matcher.isSegmentStart() || matcher.isSegmentEnd() || matcher.isDefaultSegmentEnd()) {
+                    return false;
+                }
+            }
+            final int delta = inserted - (end - start);
+            for (final var seg : descriptors) {
+                if (seg != merged && !shift(seg, start, end, delta)) {
+                    return false;
+                }
+            }
+            if (merged == defaultSegment) {
+                merged.shift(delta);
+            } else {
+                if (defaultSegment != null && !shift(defaultSegment, start, end, delta)) {
+                    return false;
+                }
+                merged.endLine = start + inserted;
+            }
+            return true;
+        }
+
+        private static boolean shift(SegmentDescriptor seg, int start, int end, int delta) {
+            if (seg.headerLine >= end) {
+                seg.shift(delta);
+                return true;
+            }
+            return seg.endLine >= 0 && seg.endLine < start;
+        }
     }
 
     /**
@@ -0,0 +1,219 @@
+package javax0.geci.engine;
+
+import javax0.geci.api.GeciException;
+import javax0.geci.api.Generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Persistent index of the sources used in incremental mode (see {@link Geci#incremental(String)}).</p>
+ *
+ * <p>The index maps the absolute file name of each source to the hash of the content of the file, the fingerprint of
+ * the set of generators that processed the file and the outcome of the processing (untouched or touched). When a file
+ * has the same content and it would be processed by the same set of generators as recorded in the index then the
+ * generators would do the same as they did the last time, thus the file does not need to be read and processed.</p>
+ *
+ * <p>The index is stored in a simple text file. Every line contains one entry with the tab separated fields
+ * fingerprint, hash, outcome and the absolute file name. Entries created by other sets of generators (other Geci
+ * objects using the same index file) are kept intact.</p>
+ */
+class SourceIndex {
+    enum Outcome {
+        UNTOUCHED, TOUCHED
+    }
+
+    private static final String HEADER = "# Java::Geci incremental index, do not edit";
+
+    private static class Entry {
+        final String fingerprint;
+        final String hash;
+        final Outcome outcome;
+        final String absoluteFile;
+
+        private Entry(String fingerprint, String hash, Outcome outcome, String absoluteFile) {
+            this.fingerprint = fingerprint;
+            this.hash = hash;
+            this.outcome = outcome;
+            this.absoluteFile = absoluteFile;
+        }
+
+        private String key() {
+            return key(fingerprint, absoluteFile);
+        }
+
+        private static String key(String fingerprint, String absoluteFile) {
+            return fingerprint + "\t" + absoluteFile;
+        }
+    }
+
+    private final Path indexFile;
+    private final String fingerprint;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, String> currentHashes = new ConcurrentHashMap<>();
+    private final Map<String, Outcome> skipped = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new index object and load the content from the index file if the file exists.
+     *
+     * @param indexFile   the name of the file that stores the index between the runs
+     * @param fingerprint the fingerprint of the generators that are registered in the actual run, see {@link
+     *                    #fingerprint(Collection)}
+     */
+    SourceIndex(String indexFile, String fingerprint) {
+        this.indexFile = Paths.get(indexFile);
+        this.fingerprint = fingerprint;
+        load();
+    }
+
+    /**
+     * Calculate the fingerprint of the set of generators. The fingerprint depends on the names of the classes of the
+     * generators, the number of the phases they need and the description of their configuration (see {@link
+     * Generator#configuration()}). It does not depend on the order of the registration.
+     *
+     * @param generators the registered generators
+     * @return the fingerprint string or {@code null} if any of the generators does not describe its configuration
+     */
+    static String fingerprint(Collection<Generator> generators) {
+        final var descriptions = new ArrayList<String>();
+        for (final var generator : generators) {
+            final var configuration = generator.configuration();
+            if (configuration == null) {
+                return null;
+            }
+            descriptions.add(generator.getClass().getName() + ":" + generator.phases() + ":" + configuration);
+        }
+        descriptions.sort(null);
+        return hash(String.join("\u0000", descriptions).getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    private static String hash(byte[] bytes) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new GeciException("SHA-256 is not available to calculate the incremental index", e);
+        }
+        final var sb = new StringBuilder();
+        for (final var b : digest.digest(bytes)) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            for (final var line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                final var fields = line.split("\t", 4);
+                if (fields.length == 4) {
+                    final var entry = new Entry(fields[0], fields[1], Outcome.valueOf(fields[2]), fields[3]);
+                    entries.put(entry.key(), entry);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Decide if the source has to be processed or it can be skipped. The source can be skipped if the content hash of
+     * the file is the same as the one recorded in the index for the same generator set.
+     *
+     * <p>The hash of the file is calculated from the bytes of the file, the file is not decoded and split into lines.
+     * The hash is remembered and later used when the index is updated. When the file has changed then the bytes are
+     * handed over to the source, which decodes them when the lines are needed instead of reading the file again. The
+     * method can be called from several threads during the file collection.</p>
+     *
+     * @param source the source to check
+     * @return {@code true} if the source can be skipped
+     */
+    boolean isUnchanged(Source source) {
+        final byte[] content;
+        try {
+            content = Files.readAllBytes(Paths.get(source.absoluteFile));
+        } catch (IOException e) {
+            return false;
+        }
+        final var hash = hash(content);
+        currentHashes.put(source.absoluteFile, hash);
+        final var entry = entries.get(Entry.key(fingerprint, source.absoluteFile));
+        if (entry != null && entry.hash.equals(hash)) {
+            skipped.put(source.absoluteFile, entry.outcome);
+            return true;
+        }
+        source.content = content;
+        return false;
+    }
+
+    /**
+     * @return {@code true} if any of the skipped sources was touched when it was processed the last time
+     */
+    boolean skippedTouched() {
+        return skipped.containsValue(Outcome.TOUCHED);
+    }
+
+    /**
+     * Update the index with the result of the actual run. Sources that were modified and saved are removed from the
+     * index. They are processed again during the next run. Sources that were not modified are recorded with their
+     * actual outcome. The entries of the skipped sources remain unchanged. The entries of the same generator set for
+     * files that were not collected in this run are removed, the files were deleted or they are not sources any more.
+     *
+     * @param sources         the sources that were processed
+     * @param modifiedSources the sources that were modified and saved
+     */
+    void update(Collection<Source> sources, Set<? extends javax0.geci.api.Source> modifiedSources) {
+        for (final var source : sources) {
+            final var key = Entry.key(fingerprint, source.absoluteFile);
+            final var hash = currentHashes.get(source.absoluteFile);
+            if (hash == null || modifiedSources.contains(source)) {
+                entries.remove(key);
+            } else {
+                entries.put(key, new Entry(fingerprint, hash, source.isTouched() ? Outcome.TOUCHED : Outcome.UNTOUCHED, source.absoluteFile));
+            }
+        }
+        entries.values().removeIf(e -> e.fingerprint.equals(fingerprint) && !currentHashes.containsKey(e.absoluteFile));
+    }
+
+    /**
+     * Save the index into the index file. The file is written into a temporary file first and then moved to the final
+     * place so that an interrupted run does not leave a half written index behind.
+     *
+     * @throws IOException if the index file cannot be written
+     */
+    void save() throws IOException {
+        final var parent = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        entries.values().stream()
+            .map(e -> e.fingerprint + "\t" + e.hash + "\t" + e.outcome + "\t" + e.absoluteFile)
+            .sorted()
+            .forEach(lines::add);
+        final var temp = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -2,8 +2,19 @@ package javax0.geci.engine;
 
 import javax0.geci.api.Generator;
 import javax0.geci.api.Logger;
+import javax0.geci.log.LoggerFactory;
 
+import java.util.function.Supplier;
+
+/**
+ * <p>The logger that the generators get from the source. The messages are collected in the source and are logged by
+ * {@link Geci} after the code generation using the logger of the class {@link Geci} on the same level.</p>
+ *
+ * <p>Messages on a level that the logger of {@link Geci} does not log are dropped right away, they are neither
+ * formatted nor collected.</p>
+ */
 public class SourceLogger implements Logger {
+    private static final javax0.geci.log.Logger LOG = LoggerFactory.getLogger(Geci.class);
     final Source source;
     final static int TRACE = 1;
     final static int DEBUG = 2;
@@ -14,29 +25,66 @@ public class SourceLogger implements Logger {
         this.source = source;
     }
 
+    private void add(System.Logger.Level level, int entryLevel, String format, Object... params) {
+        if (LOG.isLoggable(level)) {
+            source.logEntries.add(new LogEntry(String.format(format, params), source.currentGenerator, entryLevel));
+        }
+    }
+
+    private void add(System.Logger.Level level, int entryLevel, Supplier<String> message) {
+        if (LOG.isLoggable(level)) {
+            source.logEntries.add(new LogEntry(message.get(), source.currentGenerator, entryLevel));
+        }
+    }
+
     @Override
     public void trace(String format, Object... params) {
-        source.logEntries.add(new LogEntry(String.format(format, params), source.currentGenerator, TRACE));
+        add(System.Logger.Level.TRACE, TRACE, format, params);
+    }
+
+    @Override
+    public void trace(Supplier<String> message) {
+        add(System.Logger.Level.TRACE, TRACE, message);
     }
 
     @Override
     public void debug(String format, Object... params) {
-        source.logEntries.add(new LogEntry(String.format(format, params), source.currentGenerator, DEBUG));
+        add(System.Logger.Level.DEBUG, DEBUG, format, params);
+    }
+
+    @Override
+    public void debug(Supplier<String> message) {
+        add(System.Logger.Level.DEBUG, DEBUG, message);
     }
 
     @Override
     public void info(String format, Object... params) {
-        source.logEntries.add(new LogEntry(String.format(format, params), source.currentGenerator, INFO));
+        add(System.Logger.Level.INFO, INFO, format, params);
+    }
+
+    @Override
+    public void info(Supplier<String> message) {
+        add(System.Logger.Level.INFO, INFO, message);
     }
 
     @Override
     public void warning(String format, Object... params) {
-        source.logEntries.add(new LogEntry(String.format(format, params), source.currentGenerator, WARNING));
+        add(System.Logger.Level.WARNING, WARNING, format, params);
+    }
+
+    @Override
+    public void warning(Supplier<String> message) {
+        add(System.Logger.Level.WARNING, WARNING, message);
     }
 
     @Override
     public void error(String format, Object... params) {
-        source.logEntries.add(new LogEntry(String.format(format, params), source.currentGenerator, ERROR));
+        add(System.Logger.Level.ERROR, ERROR, format, params);
+    }
+
+    @Override
+    public void error(Supplier<String> message) {
+        add(System.Logger.Level.ERROR, ERROR, message);
     }
 
     static class LogEntry {
@@ -0,0 +1,333 @@
+package javax0.geci.engine;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Write the modified sources back to the disk.</p>
+ *
+ * <p>The sources are passed to the writer one by one calling {@link #write(Source)} and they are written into
+ * temporary files next to the final files by a bounded pool of I/O worker threads while the caller goes on deciding
+ * which source to save. When all sources are passed to the writer the caller calls {@link #commit()}, which waits for
+ * the temporary files and then renames all of them to the final names. If any of the files cannot be written then no
+ * file is renamed, the temporary files are deleted and the source tree is left intact.</p>
+ *
+ * <p>Before a file is replaced a backup of the old version is created as a hard link, or as a copy when the file
+ * system does not support links. If the rename of any of the files fails then the files already replaced are restored
+ * from their backups and the files created new are deleted, so the source tree is left intact also in this case. The
+ * backups are deleted when all the files were renamed. The rename is atomic when the file system supports it,
+ * therefore each file is either the old or the new version even if the process is killed. The process being killed
+ * during the rename phase, however, leaves the files renamed so far in their new version and the backup files on the
+ * disk.</p>
+ *
+ * <p>The writer does not write a file if the bytes on the disk are already the same as the bytes to be written. The
+ * parent directories created or checked by the writer are remembered and are not checked again for the next file in
+ * the same directory.</p>
+ *
+ * <p>The lines are written using the UTF-8 encoding and each line is terminated by the line separator of the platform,
+ * the same way as {@link Files#write(Path, Iterable, java.nio.charset.Charset, java.nio.file.OpenOption...)} does.</p>
+ */
+class SourceWriter implements AutoCloseable {
+    private static final int MAX_WORKERS = 8;
+    private static final AtomicLong TEMP_COUNTER = new AtomicLong();
+
+    private final ExecutorService workers;
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    private final List<Future<Path[]>> pending = new ArrayList<>();
+    private boolean committed = false;
+    private final AtomicLong filesWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong linesWritten = new AtomicLong();
+
+    SourceWriter() {
+        this(Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param workers the number of the I/O worker threads
+     */
+    SourceWriter(int workers) {
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            final var thread = new Thread(runnable, "geci-source-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start writing the lines of the source into a temporary file. The lines are encoded on the worker thread, the
+     * source must not be modified after this call.
+     *
+     * @param source the source to be saved
+     */
+    void write(Source source) {
+        if (committed) {
+            throw new IllegalStateException("The source writer was already committed");
+        }
+        pending.add(workers.submit(() -> stage(source)));
+    }
+
+    /**
+     * Wait for all the temporary files to be written and then rename them to their final names. If any of the writes
+     * failed then none of the files is renamed. If any of the renames failed then the files renamed before are
+     * restored.
+     *
+     * @throws IOException if any of the files could not be written or renamed. If there were more than one failures,
+     *                     or the temporary files, the backups could not be deleted or the old files could not be
+     *                     restored then these are added as suppressed exceptions.
+     */
+    void commit() throws IOException {
+        committed = true;
+        final var staged = new ArrayList<Path[]>();
+        IOException failure = null;
+        for (final var future : pending) {
+            try {
+                final var paths = future.get();
+                if (paths != null) {
+                    staged.add(paths);
+                }
+            } catch (ExecutionException e) {
+                failure = addFailure(failure, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = addFailure(failure, e);
+            }
+        }
+        pending.clear();
+        if (failure != null) {
+            deleteTemporaries(staged, 0, failure);
+            throw failure;
+        }
+        final var replaced = new ArrayList<Path[]>();
+        int moved = 0;
+        try {
+            for (final var paths : staged) {
+                final var backup = backup(paths[1]);
+                replaced.add(new Path[]{paths[1], backup});
+                move(paths[0], paths[1]);
+                moved++;
+            }
+        } catch (IOException e) {
+            rollback(replaced, e);
+            deleteTemporaries(staged, moved, e);
+            throw e;
+        }
+        IOException cleanup = null;
+        for (final var paths : replaced) {
+            try {
+                if (paths[1] != null) {
+                    Files.deleteIfExists(paths[1]);
+                }
+            } catch (IOException e) {
+                cleanup = addFailure(cleanup, e);
+            }
+        }
+        if (cleanup != null) {
+            throw cleanup;
+        }
+    }
+
+    /**
+     * Create a backup of the file that is going to be replaced.
+     *
+     * @param path the file
+     * @return the backup file or {@code null} if the file does not exist
+     * @throws IOException if the backup cannot be created
+     */
+    private static Path backup(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        final var backup = path.resolveSibling("." + path.getFileName() + "." + TEMP_COUNTER.incrementAndGet() + ".bak");
+        try {
+            Files.createLink(backup, path);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.deleteIfExists(backup);
+            Files.copy(path, backup, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        return backup;
+    }
+
+    /**
+     * Restore the files from their backups, or delete them if they did not exist before, in the reverse order they
+     * were replaced.
+     *
+     * @param replaced the final files and their backups, the backup is {@code null} for the new files
+     * @param failure  the exception that caused the rollback, the failures of the rollback are added to it as
+     *                 suppressed exceptions
+     */
+    private static void rollback(List<Path[]> replaced, IOException failure) {
+        for (int i = replaced.size() - 1; i >= 0; i--) {
+            final var path = replaced.get(i)[0];
+            final var backup = replaced.get(i)[1];
+            try {
+                if (backup == null) {
+                    Files.deleteIfExists(path);
+                } else {
+                    move(backup, path);
+                }
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Delete the temporary files that were not renamed.
+     *
+     * @param staged  the temporary and the final files
+     * @param from    the index of the first temporary file that was not renamed
+     * @param failure the exception the failures of the deletion are added to as suppressed exceptions
+     */
+    private static void deleteTemporaries(List<Path[]> staged, int from, IOException failure) {
+        for (int i = from; i < staged.size(); i++) {
+            try {
+                Files.deleteIfExists(staged.get(i)[0]);
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Stop the worker threads. If the writer was not committed then the temporary files already written are deleted
+     * and the sources are not saved.
+     */
+    @Override
+    public void close() {
+        if (!committed) {
+            committed = true;
+            for (final var future : pending) {
+                try {
+                    final var paths = future.get();
+                    if (paths != null) {
+                        Files.deleteIfExists(paths[0]);
+                    }
+                } catch (ExecutionException | IOException ignored) {
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        workers.shutdownNow();
+    }
+
+    private static IOException addFailure(IOException failure, Throwable cause) {
+        if (failure == null) {
+            return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+        failure.addSuppressed(cause);
+        return failure;
+    }
+
+    /**
+     * Write the lines of the source into a temporary file.
+     *
+     * @param source the source to write
+     * @return the temporary file and the final file, or {@code null} if the file on the disk is already the same
+     * @throws IOException if the temporary file cannot be written
+     */
+    private Path[] stage(Source source) throws IOException {
+        final var path = Paths.get(source.absoluteFile);
+        final var bytes = encode(source.lines);
+        if (isSame(path, bytes)) {
+            return null;
+        }
+        final var parent = path.getParent();
+        if (!directories.contains(parent)) {
+            Files.createDirectories(parent);
+            directories.add(parent);
+        }
+        final var temp = parent.resolve("." + path.getFileName() + "." + TEMP_COUNTER.incrementAndGet() + ".tmp");
+        try {
+            Files.write(temp, bytes, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            copyPermissions(path, temp);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        filesWritten.incrementAndGet();
+        bytesWritten.addAndGet(bytes.length);
+        linesWritten.addAndGet(source.lines.size());
+        return new Path[]{temp, path};
+    }
+
+    /**
+     * @return the number of files written. Files that had the same content on the disk are not counted.
+     */
+    long filesWritten() {
+        return filesWritten.get();
+    }
+
+    long bytesWritten() {
+        return bytesWritten.get();
+    }
+
+    long linesWritten() {
+        return linesWritten.get();
+    }
+
+    /**
+     * The file was written in place before, keeping the permissions of the existing file. The renamed temporary file
+     * would get the default permissions, therefore the permissions of the existing file are copied to it.
+     */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        try {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        } catch (NoSuchFileException | UnsupportedOperationException ignored) {
+        }
+    }
+
+    private static byte[] encode(List<String> lines) throws CharacterCodingException {
+        final var sb = new StringBuilder();
+        final var separator = System.lineSeparator();
+        for (final var line : lines) {
+            sb.append(line).append(separator);
+        }
+        final var buffer = StandardCharsets.UTF_8.newEncoder().encode(CharBuffer.wrap(sb));
+        final var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @param path  the file to check
+     * @param bytes the bytes that are to be written into the file
+     * @return {@code true} if the file exists and contains exactly the bytes
+     */
+    private static boolean isSame(Path path, byte[] bytes) throws IOException {
+        try {
+            return Files.size(path) == bytes.length && Arrays.equals(Files.readAllBytes(path), bytes);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static void move(Path temp, Path path) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package javax0.geci.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * <p>Scan the bytes of a file to decide if it contains any of the trigger strings the generators declared (see
+ * {@link javax0.geci.api.Generator#triggers()}).</p>
+ *
+ * <p>The file is not decoded, the triggers are converted to UTF-8 byte sequences and these are searched in the bytes
+ * of the file. Small files are read into memory at once. Larger files are read in chunks into a buffer of fixed size;
+ * the last bytes of a chunk, one less than the length of the longest trigger, are carried over to the start of the
+ * next chunk, so that a trigger crossing the chunk boundary is also found. The files are not memory mapped, because a
+ * mapping is released only when it is garbage collected and on some operating systems the mapped file cannot be
+ * replaced while the mapping lives. The scan is a single pass over the bytes. At each position a table lookup decides
+ * if any of the triggers can start with the byte, and only those triggers are compared.</p>
+ */
+class TriggerScanner {
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private final byte[][] triggers;
+    private final boolean[] firstBytes = new boolean[256];
+    private final boolean matchesAll;
+    private final int maxLength;
+    private final int chunkSize;
+
+    /**
+     * @param triggers the trigger strings. An empty string as a trigger matches every file.
+     */
+    TriggerScanner(Collection<String> triggers) {
+        this(triggers, CHUNK_SIZE);
+    }
+
+    /**
+     * @param triggers  the trigger strings. An empty string as a trigger matches every file.
+     * @param chunkSize the size of the buffer the files are read into
+     */
+    TriggerScanner(Collection<String> triggers, int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.matchesAll = triggers.stream().anyMatch(String::isEmpty);
+        this.triggers = triggers.stream()
+            .filter(t -> !t.isEmpty())
+            .map(t -> t.getBytes(StandardCharsets.UTF_8))
+            .toArray(byte[][]::new);
+        var maxLength = 1;
+        for (final var trigger : this.triggers) {
+            firstBytes[trigger[0] & 0xFF] = true;
+            maxLength = Math.max(maxLength, trigger.length);
+        }
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @param path the file to scan
+     * @return {@code true} if the file contains any of the triggers or if the file cannot be read. Files that cannot
+     * be read are passed on so that the error is reported when the file is processed.
+     */
+    boolean test(Path path) {
+        if (matchesAll) {
+            return true;
+        }
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var buffer = ByteBuffer.allocate(Math.max((int) Math.min(channel.size(), chunkSize), maxLength));
+            while (true) {
+                var eof = false;
+                while (buffer.hasRemaining() && !eof) {
+                    eof = channel.read(buffer) < 0;
+                }
+                buffer.flip();
+                if (contains(buffer)) {
+                    return true;
+                }
+                if (eof) {
+                    return false;
+                }
+                buffer.position(buffer.limit() - Math.min(maxLength - 1, buffer.limit()));
+                buffer.compact();
+            }
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @param buffer the bytes from position zero up to the limit of the buffer are scanned
+     * @return {@code true} if the buffer contains any of the triggers
+     */
+    boolean contains(ByteBuffer buffer) {
+        final int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            if (firstBytes[buffer.get(i) & 0xFF]) {
+                for (final var trigger : triggers) {
+                    if (matches(buffer, i, limit, trigger)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(ByteBuffer buffer, int start, int limit, byte[] trigger) {
+        if (start + trigger.length > limit) {
+            return false;
+        }
+        for (int k = 0; k < trigger.length; k++) {
+            if (buffer.get(start + k) != trigger[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 module geci.engine {
     requires geci.api;
     requires geci.tools;
+    requires java.management;
+    requires jdk.jfr;
     exports javax0.geci.engine;
 }
\ No newline at end of file
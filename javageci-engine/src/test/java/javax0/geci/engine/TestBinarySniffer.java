@@ -0,0 +1,47 @@
+package javax0.geci.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestBinarySniffer {
+
+    private static boolean isBinary(boolean complete, int... bytes) {
+        final var buffer = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            buffer[i] = (byte) bytes[i];
+        }
+        return BinarySniffer.isBinary(buffer, buffer.length, complete);
+    }
+
+    @Test
+    @DisplayName("UTF-8 text is not binary")
+    void testText() {
+        final var text = "package x;\n// árvíztűrő tükörfúrógép € 😀\n".getBytes(StandardCharsets.UTF_8);
+        assertFalse(BinarySniffer.isBinary(text, text.length, true));
+    }
+
+    @Test
+    @DisplayName("Zero byte and invalid UTF-8 sequences are binary")
+    void testBinary() {
+        assertTrue(isBinary(true, 'a', 0, 'b'));
+        assertTrue(isBinary(true, 0x80));
+        assertTrue(isBinary(true, 0xC0, 0x80));
+        assertTrue(isBinary(true, 0xE0, 0x80, 0x80));
+        assertTrue(isBinary(true, 0xED, 0xA0, 0x80));
+        assertTrue(isBinary(true, 0xF5, 0x80, 0x80, 0x80));
+        assertTrue(isBinary(true, 0xC3, 'a'));
+    }
+
+    @Test
+    @DisplayName("Multi-byte sequence cut at the end of the block is binary only if the file ends there")
+    void testCutSequence() {
+        assertFalse(isBinary(false, 'a', 0xE2, 0x82));
+        assertTrue(isBinary(true, 'a', 0xE2, 0x82));
+        assertTrue(isBinary(false, 'a', 0xE2, 'b'));
+    }
+}
@@ -1,12 +1,17 @@
 package javax0.geci.engine;
 
 import javax0.geci.api.Source;
+import javax0.geci.tools.Tracer;
 import javax0.geci.util.DirectoryLocator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static javax0.geci.api.Source.Predicates.exists;
 import static javax0.geci.api.Source.Set.set;
@@ -14,7 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestFileCollector {
-    private static final int NUMBER_OF_TESTS = 5;
+    private static final int NUMBER_OF_TESTS = 13;
 
     /**
      * <p>Tests that the file collector works. If this test fails then check if you added or deletes some new files to
@@ -33,4 +38,30 @@ public class TestFileCollector {
                 .anyMatch(source -> source.getKlassName().endsWith("TestFileCollector")),
             "TestFileCollector was not found by the collector");
     }
+
+    private static Set<String> collectNames(Set<Predicate<Path>> onlySet, Set<Predicate<Path>> ignoreSet) {
+        final Map<Source.Set, javax0.geci.api.DirectoryLocator> sources =
+            Map.of(set(), new DirectoryLocator(exists(), new String[]{"src/test/java/javax0/geci/engine"}));
+        var collector = new FileCollector(sources);
+        collector.collect(onlySet, ignoreSet, Collections.emptySet());
+        return collector.getSources().stream().map(javax0.geci.engine.Source::getKlassSimpleName).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("The parallel collection with combined 'only' and 'ignore' predicates selects the same files as the traced sequential collection")
+    void collectParallelSameAsSequential() {
+        final Set<Predicate<Path>> onlySet = Set.of(new Geci.PatternPredicate("Test(Source|Binary\\w*)\\.java$"),
+            new Geci.PatternPredicate("(Trigger)Scanner\\1?\\.java$"),
+            path -> path.toString().endsWith("TestIncremental.java"));
+        final Set<Predicate<Path>> ignoreSet = Set.of(new Geci.PatternPredicate("Sniffer"));
+        final var parallel = collectNames(onlySet, ignoreSet);
+        Tracer.on();
+        try {
+            final var sequential = collectNames(onlySet, ignoreSet);
+            assertEquals(sequential, parallel);
+        } finally {
+            Tracer.off();
+        }
+        assertEquals(Set.of("TestSource", "TestTriggerScanner", "TestIncremental"), parallel);
+    }
 }
@@ -0,0 +1,61 @@
+package javax0.geci.engine;
+
+import javax0.geci.api.GeciException;
+import javax0.geci.api.Generator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestGeciEvents {
+
+    @Test
+    @DisplayName("Test that the flight recorder events are emitted when they are enabled")
+    void testEvents() throws Exception {
+        final var file = Files.createTempFile("geci", ".jfr");
+        try {
+            try (final var recording = new Recording()) {
+                for (final var name : List.of("FileCollection", "SourceRead", "Generator", "Consolidation", "Comparison", "Save")) {
+                    recording.enable("javax0.geci." + name).withoutThreshold();
+                }
+                recording.start();
+                Assertions.assertFalse(new Geci().only("TestGeciEvents.java").register(new Touching()).generate());
+                recording.stop();
+                recording.dump(file);
+            }
+            final var events = RecordingFile.readAllEvents(file);
+            final var names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toSet());
+            Assertions.assertTrue(names.containsAll(List.of("javax0.geci.FileCollection", "javax0.geci.SourceRead",
+                "javax0.geci.Generator", "javax0.geci.Consolidation", "javax0.geci.Comparison", "javax0.geci.Save")),
+                names.toString());
+            final RecordedEvent generator = events.stream()
+                .filter(e -> e.getEventType().getName().equals("javax0.geci.Generator"))
+                .findFirst().orElseThrow();
+            Assertions.assertEquals(Touching.class.getName(), generator.getClass("generator").getName());
+            Assertions.assertTrue(generator.getString("source").endsWith("TestGeciEvents.java"));
+            Assertions.assertEquals(0, generator.getInt("phase"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    //<editor-fold id="events">
+    //</editor-fold>
+    static class Touching implements Generator {
+        @Override
+        public void process(javax0.geci.api.Source source) {
+            try {
+                source.init("events");
+            } catch (IOException e) {
+                throw new GeciException("Cannot touch it!");
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package javax0.geci.engine;
+
+import javax0.geci.api.GeciException;
+import javax0.geci.api.Generator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class TestGenerationReport {
+
+    @Test
+    @DisplayName("Test that the metrics of the generation are reported")
+    void testMetrics() throws Exception {
+        final var geci = new Geci();
+        Assertions.assertFalse(geci.only("TestGenerationReport.java").register(new Touching()).metrics(true).generate());
+        final var report = geci.metrics();
+        final var timings = report.generators();
+        Assertions.assertEquals(1, timings.size());
+        Assertions.assertEquals(Touching.class.getName(), timings.get(0).generator());
+        Assertions.assertEquals(0, timings.get(0).phase());
+        Assertions.assertEquals(1, timings.get(0).invocations());
+        Assertions.assertTrue(timings.get(0).wallNanos() > 0);
+        Assertions.assertEquals(1, report.filesRead());
+        Assertions.assertTrue(report.bytesRead() > report.linesRead());
+        Assertions.assertEquals(0, report.filesWritten());
+        Assertions.assertEquals(1, report.segments().size());
+        Assertions.assertTrue(report.segments().keySet().iterator().next().endsWith("TestGenerationReport.java"));
+        Assertions.assertEquals(Integer.valueOf(1), report.segments().values().iterator().next());
+        Assertions.assertTrue(report.stageNanos(GenerationReport.Stage.COLLECTION) > 0);
+
+        final var json = report.toJson();
+        Assertions.assertTrue(json.contains("\"generator\": \"" + Touching.class.getName() + "\", \"phase\": 0, \"invocations\": 1"));
+        Assertions.assertTrue(json.contains("\"filesRead\": 1,"));
+        final var csv = report.toCsv().split("\n");
+        Assertions.assertEquals("type,name,phase,metric,value", csv[0]);
+        Assertions.assertTrue(csv[1].startsWith("stage,collection,,wallNanos,"));
+    }
+
+    @Test
+    @DisplayName("Test that the generators are not timed unless it is switched on")
+    void testNoGeneratorMetrics() throws Exception {
+        final var geci = new Geci();
+        Assertions.assertFalse(geci.only("TestGenerationReport.java").register(new Touching()).generate());
+        Assertions.assertTrue(geci.metrics().generators().isEmpty());
+        Assertions.assertEquals(1, geci.metrics().filesRead());
+    }
+
+    //<editor-fold id="report">
+    //</editor-fold>
+    static class Touching implements Generator {
+        @Override
+        public void process(javax0.geci.api.Source source) {
+            try {
+                source.init("report");
+            } catch (IOException e) {
+                throw new GeciException("Cannot touch it!");
+            }
+        }
+    }
+}
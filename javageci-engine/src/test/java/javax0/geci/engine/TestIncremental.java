@@ -0,0 +1,126 @@
+package javax0.geci.engine;
+
+import javax0.geci.api.GeciException;
+import javax0.geci.api.Generator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestIncremental {
+
+    @Test
+    @DisplayName("Test that unchanged sources are not processed again in incremental mode")
+    void testIncrementalSkipsUnchangedSources() throws Exception {
+        final var indexFile = Files.createTempFile("geci", ".idx");
+        Files.delete(indexFile);
+        try {
+            final var first = new Counting();
+            Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                .incremental(indexFile.toString())
+                .register(first).generate());
+            Assertions.assertEquals(1, first.counter);
+            Assertions.assertTrue(Files.exists(indexFile));
+
+            final var second = new Counting();
+            Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                .incremental(indexFile.toString())
+                .register(second).generate());
+            Assertions.assertEquals(0, second.counter);
+
+            final var notIncremental = new Counting();
+            Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                .register(notIncremental).generate());
+            Assertions.assertEquals(1, notIncremental.counter);
+
+            final var reconfigured = new Counting("other configuration");
+            Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                .incremental(indexFile.toString())
+                .register(reconfigured).generate());
+            Assertions.assertEquals(1, reconfigured.counter);
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that incremental mode is off when a generator does not describe its configuration")
+    void testIncrementalNeedsConfiguration() throws Exception {
+        final var indexFile = Files.createTempFile("geci", ".idx");
+        Files.delete(indexFile);
+        try {
+            for (int i = 0; i < 2; i++) {
+                final var unknown = new Counting(null);
+                Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                    .incremental(indexFile.toString())
+                    .register(unknown).generate());
+                Assertions.assertEquals(1, unknown.counter);
+            }
+            Assertions.assertFalse(Files.exists(indexFile));
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the files not collected any more are removed from the index")
+    void testIncrementalDropsVanishedSources() throws Exception {
+        final var indexFile = Files.createTempFile("geci", ".idx");
+        Files.delete(indexFile);
+        try {
+            Assertions.assertFalse(new Geci().only("TestIncremental.java", "TestParallelExecution.java")
+                .incremental(indexFile.toString())
+                .register(new Counting()).generate());
+            Assertions.assertEquals(2, entries(indexFile));
+
+            Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                .incremental(indexFile.toString())
+                .register(new Counting()).generate());
+            Assertions.assertEquals(1, entries(indexFile));
+
+            Assertions.assertFalse(new Geci().only("TestIncremental.java")
+                .incremental(indexFile.toString())
+                .register(new Counting("other configuration")).generate());
+            Assertions.assertEquals(2, entries(indexFile));
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    private static long entries(Path indexFile) throws IOException {
+        return Files.readAllLines(indexFile).stream().filter(line -> !line.startsWith("#")).count();
+    }
+
+    //<editor-fold id="incremental">
+    //</editor-fold>
+    static class Counting implements Generator {
+        int counter = 0;
+        private final String configuration;
+
+        Counting() {
+            this("configuration");
+        }
+
+        Counting(String configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public String configuration() {
+            return configuration;
+        }
+
+        @Override
+        public void process(javax0.geci.api.Source source) {
+            try {
+                source.init("incremental");
+            } catch (IOException e) {
+                throw new GeciException("Cannot touch it!");
+            }
+            counter++;
+        }
+    }
+}
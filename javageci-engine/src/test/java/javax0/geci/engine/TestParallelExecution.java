@@ -0,0 +1,188 @@
+package javax0.geci.engine;
+
+import javax0.geci.api.GeciException;
+import javax0.geci.api.Generator;
+import javax0.geci.api.ThreadSafe;
+import javax0.geci.tools.AbstractFilteredFieldsGenerator;
+import javax0.geci.tools.CompoundParams;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class TestParallelExecution {
+
+    @Test
+    @DisplayName("Test that thread safe generators process the same sources parallel as serial")
+    void testParallelExecution() throws Exception {
+        final var serial = new Collecting();
+        Assertions.assertFalse(new Geci().source("src/test/java/javax0/geci/engine")
+            .register(serial).generate());
+        final var parallel = new Collecting();
+        Assertions.assertFalse(new Geci().source("src/test/java/javax0/geci/engine")
+            .parallelism(4)
+            .register(parallel).generate());
+        Assertions.assertEquals(serial.processed, parallel.processed);
+        Assertions.assertTrue(parallel.processed.stream().anyMatch(s -> s.endsWith("TestParallelExecution.java")));
+    }
+
+    @Test
+    @DisplayName("Test that thread safe generators write the same content parallel as serial")
+    void testParallelContent() throws Exception {
+        final var serialDir = sources();
+        final var parallelDir = sources();
+        try {
+            Assertions.assertTrue(new Geci().source(serialDir.toString())
+                .register(new Writing()).generate());
+            Assertions.assertTrue(new Geci().source(parallelDir.toString())
+                .parallelism(4)
+                .register(new Writing()).generate());
+            for (int i = 0; i < SOURCES; i++) {
+                final var name = "S" + i + ".java";
+                final var serialLines = Files.readAllLines(serialDir.resolve(name));
+                Assertions.assertEquals(serialLines, Files.readAllLines(parallelDir.resolve(name)), name);
+                Assertions.assertTrue(serialLines.contains("    // " + name + " has 4 lines"), name);
+            }
+        } finally {
+            delete(serialDir);
+            delete(parallelDir);
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the filtered fields generators select the same fields parallel as serial")
+    void testParallelFilteredFields() throws Exception {
+        final var serial = new FieldListing();
+        Assertions.assertFalse(new Geci().only("/javax0/geci/engine/Test")
+            .register(serial, new Collecting()).generate());
+        final var parallel = new FieldListing();
+        Assertions.assertFalse(new Geci().only("/javax0/geci/engine/Test")
+            .parallelism(4)
+            .register(parallel, new Collecting()).generate());
+        Assertions.assertEquals(serial.fields, parallel.fields);
+        Assertions.assertEquals(List.of("SOURCES"), parallel.fields.get(TestParallelExecution.class.getName()));
+    }
+
+    private static final int SOURCES = 32;
+
+    private static Path sources() throws IOException {
+        final var dir = Files.createTempDirectory("geci");
+        for (int i = 0; i < SOURCES; i++) {
+            Files.write(dir.resolve("S" + i + ".java"), List.of(
+                "class S" + i + " {",
+                "    //<editor-fold id=\"parallel\">",
+                "    //</editor-fold>",
+                "}"));
+        }
+        return dir;
+    }
+
+    private static void delete(Path dir) throws IOException {
+        for (int i = 0; i < SOURCES; i++) {
+            Files.deleteIfExists(dir.resolve("S" + i + ".java"));
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    @DisplayName("Test that the classes resolved eagerly are the same that the generators would get")
+    void testEagerClassResolution() throws Exception {
+        final var lazy = new Collecting();
+        Assertions.assertFalse(new Geci().only("/javax0/geci/engine/Test")
+            .register(lazy).generate());
+        final var eager = new Collecting();
+        final var geci = new Geci();
+        Assertions.assertFalse(geci.only("/javax0/geci/engine/Test")
+            .resolveClassesEagerly()
+            .register(eager).generate());
+        Assertions.assertEquals(lazy.classes, eager.classes);
+        Assertions.assertTrue(eager.classes.contains(TestParallelExecution.class));
+        Assertions.assertTrue(geci.metrics().stageNanos(GenerationReport.Stage.CLASS_RESOLUTION) > 0);
+    }
+
+    @Test
+    @DisplayName("Test that parallelism less than one is refused")
+    void testZeroParallelism() {
+        Assertions.assertThrows(GeciException.class, () -> new Geci().parallelism(0));
+    }
+
+    static class Writing implements Generator, ThreadSafe {
+        @Override
+        public void process(javax0.geci.api.Source source) {
+            final var name = Path.of(source.getAbsoluteFile()).getFileName().toString();
+            final var lines = source.getLines().size();
+            try (final var segment = source.open("parallel")) {
+                segment.write("// %s has %d lines", name, lines);
+                for (int i = 0; i < lines; i++) {
+                    segment.write("int f%d = %d;", i, name.hashCode() + i);
+                }
+            } catch (IOException e) {
+                throw new GeciException("Cannot write it!");
+            }
+        }
+    }
+
+    /**
+     * Collects the names of the static fields of every class without writing anything.
+     */
+    static class FieldListing extends AbstractFilteredFieldsGenerator implements ThreadSafe {
+        final Map<String, List<String>> fields = new ConcurrentHashMap<>();
+
+        @Override
+        protected boolean processAllClasses() {
+            return true;
+        }
+
+        @Override
+        protected String defaultFilterExpression() {
+            return "static";
+        }
+
+        @Override
+        public void preprocess(javax0.geci.api.Source source, Class<?> klass, CompoundParams global) {
+        }
+
+        @Override
+        public void process(javax0.geci.api.Source source, Class<?> klass, CompoundParams params, Field field) {
+        }
+
+        @Override
+        public void process(javax0.geci.api.Source source, Class<?> klass, CompoundParams global, Field[] fields) {
+            this.fields.put(klass.getName(), Arrays.stream(fields).map(Field::getName).collect(Collectors.toList()));
+        }
+
+        @Override
+        public void postprocess(javax0.geci.api.Source source, Class<?> klass, CompoundParams global) {
+        }
+    }
+
+    //<editor-fold id="parallel">
+    //</editor-fold>
+    static class Collecting implements Generator, ThreadSafe {
+        final Set<String> processed = ConcurrentHashMap.newKeySet();
+        final Set<Class<?>> classes = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void process(javax0.geci.api.Source source) {
+            try {
+                source.init("parallel");
+            } catch (IOException e) {
+                throw new GeciException("Cannot touch it!");
+            }
+            processed.add(source.getAbsoluteFile());
+            if (source.getKlass() != null) {
+                classes.add(source.getKlass());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package javax0.geci.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestSegment {
+
+    @Test
+    @DisplayName("Lines are split the same way as by the regular expression")
+    void testForEachLine() {
+        for (final var text : List.of("", "a", "a\nb", "a\r\nb\r\n", "\n\n", "a\r", "\r\n\r", "x\r\r\ny")) {
+            final var lines = new ArrayList<String>();
+            Segment.forEachLine(text, lines::add);
+            Assertions.assertEquals(Arrays.asList(text.split("\r?\n", -1)), lines, text);
+        }
+    }
+
+    @Test
+    @DisplayName("Lines are indented with the current tab stop")
+    void testIndent() {
+        final var sut = new Segment(4);
+        sut.write_r("if (a) {").write("b();").write_l("}").write("   ").write("x\ny");
+        Assertions.assertEquals(List.of("    if (a) {", "        b();", "    }", "", "    x", "    y"), sut.lines);
+        Assertions.assertSame(Segment.indent(8), Segment.indent(8));
+        Assertions.assertEquals(200, Segment.indent(200).length());
+    }
+
+    @Test
+    @DisplayName("The bulk write methods produce the same lines as writing the lines one by one")
+    void testBulkWrite() {
+        final var lines = List.of("int a = 100%;", "", "    {{name}}();", "  ", "c\nd");
+        final var expected = new Segment(4);
+        expected.param("name", "call");
+        for (final var line : lines) {
+            if (line.trim().isEmpty()) {
+                expected.newline();
+            } else {
+                expected.write("%s", line);
+            }
+        }
+        final var sut = new Segment(4);
+        sut.param("name", "call");
+        sut.writeLines(lines);
+        Assertions.assertEquals(expected.lines, sut.lines);
+        final var block = new Segment(4);
+        block.param("name", "call");
+        block.writeBlock(String.join("\r\n", lines));
+        Assertions.assertEquals(expected.lines, block.lines);
+    }
+}
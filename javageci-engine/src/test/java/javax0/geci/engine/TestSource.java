@@ -4,10 +4,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestSource {
 
@@ -49,4 +52,110 @@ public class TestSource {
             "this is also unharmed\n" +
             "//</editor-fold>", String.join("\n", sut.lines));
     }
+
+    @Test
+    public void testMultipleSegmentsConsolidated() throws IOException {
+        final var collector = new FileCollector(Map.of());
+        var sut = new Source(collector, "ddd", Paths.get("xyz.java"));
+        sut.inMemory = true;
+        sut.lines.addAll(Arrays.asList(
+            "class Z {",
+            "    // <editor-fold id=\"first\">",
+            "    one",
+            "    two",
+            "    //</editor-fold>",
+            "    // <editor-fold id=\"second\">",
+            "    //</editor-fold>",
+            "    // <editor-fold id=\"third\">",
+            "    three",
+            "    //</editor-fold>",
+            "}"
+        ));
+        sut.allowDefaultSegment = true;
+        sut.open("third").write("3");
+        sut.open("first").write("1");
+        sut.open("second").write("2a").write("2b").write("2c");
+        sut.open("fourth").write("4");
+        sut.consolidate();
+        assertEquals("class Z {\n" +
+            "    // <editor-fold id=\"first\">\n" +
+            "    1\n" +
+            "    //</editor-fold>\n" +
+            "    // <editor-fold id=\"second\">\n" +
+            "    2a\n" +
+            "    2b\n" +
+            "    2c\n" +
+            "    //</editor-fold>\n" +
+            "    // <editor-fold id=\"third\">\n" +
+            "    3\n" +
+            "    //</editor-fold>\n" +
+            "    //<editor-fold id=\"fourth\">\n" +
+            "    4\n" +
+            "    //</editor-fold>\n" +
+            "}", String.join("\n", sut.lines));
+    }
+
+    @Test
+    public void testOnlyDirtySegmentsAreCompared() throws IOException {
+        final var collector = new FileCollector(Map.of());
+        var sut = new Source(collector, "ddd", Paths.get("xyz.java"));
+        sut.inMemory = true;
+        final var lines = Arrays.asList(
+            "class Z {",
+            "    // <editor-fold id=\"first\">",
+            "    int one;",
+            "    //</editor-fold>",
+            "    // <editor-fold id=\"second\">",
+            "    int two;",
+            "    //</editor-fold>",
+            "}"
+        );
+        sut.lines.addAll(lines);
+        sut.originals.addAll(lines);
+        sut.open("first").write("int one;");
+        sut.open("second").write("int  two;");
+        sut.consolidate();
+        assertTrue(sut.isTouched());
+        assertFalse(sut.isModified(Geci.JAVA_COMPARATOR, true));
+        assertTrue(sut.isModified(Geci.EQUALS_COMPARATOR, true));
+        assertTrue(sut.isModified(Geci.EQUALS_COMPARATOR, false));
+
+        sut = new Source(collector, "ddd", Paths.get("xyz.java"));
+        sut.inMemory = true;
+        sut.lines.addAll(lines);
+        sut.originals.addAll(lines);
+        sut.open("first").write("int one;");
+        sut.open("second").write("int two;");
+        sut.consolidate();
+        assertEquals(lines, sut.lines);
+        assertFalse(sut.isModified(Geci.EQUALS_COMPARATOR, true));
+
+        sut = new Source(collector, "ddd", Paths.get("xyz.java"));
+        sut.inMemory = true;
+        sut.lines.addAll(lines);
+        sut.originals.addAll(lines);
+        sut.open("second").write("long two;");
+        sut.consolidate();
+        assertTrue(sut.isModified(Geci.JAVA_COMPARATOR, true));
+    }
+
+    @Test
+    public void testKlassIsResolved() {
+        final var source = Source.mock(null).className("javax0.geci.engine.TestSource").getSource();
+        assertEquals(TestSource.class, source.getKlass());
+        assertEquals(TestSource.class, source.getKlass());
+        final var resource = Source.mock(null).className("javax0.geci.engine.no-such-class").getSource();
+        assertEquals(null, resource.getKlass());
+        assertEquals(null, resource.getKlass());
+    }
+
+    @Test
+    public void testCachedUntilLinesChange() {
+        final var sut = Source.mock(null).lines("// @Geci(\"aaa\")", "class A {", "}").getSource();
+        final var first = sut.cached("key", () -> String.join("\n", sut.getLines()));
+        assertTrue(first == sut.cached("key", () -> "other"));
+        sut.returns(new ArrayList<>(sut.borrows()));
+        assertEquals("other", sut.cached("key", () -> "other"));
+        assertEquals("other", sut.cached("key", () -> "something else"));
+    }
 }
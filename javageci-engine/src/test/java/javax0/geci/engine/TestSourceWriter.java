@@ -0,0 +1,120 @@
+package javax0.geci.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TestSourceWriter {
+
+    private static Source source(Path path, String... lines) {
+        return Source.mock(null).absoluteFile(path.toString()).lines(lines).getSource();
+    }
+
+    private static List<Path> filesIn(Path dir) throws IOException {
+        try (final Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (final Stream<Path> files = Files.walk(dir)) {
+            for (final var path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Sources are written into new directories and no temporary file is left behind")
+    void testWrite() throws IOException {
+        final var dir = Files.createTempDirectory("geci");
+        try {
+            final var a = dir.resolve("x/y/A.java");
+            final var b = dir.resolve("x/y/B.java");
+            try (final var writer = new SourceWriter(2)) {
+                writer.write(source(a, "class A {", "}"));
+                writer.write(source(b, "class B {}"));
+                writer.commit();
+            }
+            Assertions.assertEquals(List.of("class A {", "}"), Files.readAllLines(a));
+            Assertions.assertEquals(List.of("class B {}"), Files.readAllLines(b));
+            Assertions.assertEquals(List.of(a, b), filesIn(dir));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Files that already have the same content are not written")
+    void testSameContentIsNotWritten() throws IOException {
+        final var dir = Files.createTempDirectory("geci");
+        try {
+            final var a = dir.resolve("A.java");
+            Files.write(a, List.of("class A {}"));
+            final var time = FileTime.fromMillis(1_000_000_000L);
+            Files.setLastModifiedTime(a, time);
+            try (final var writer = new SourceWriter(1)) {
+                writer.write(source(a, "class A {}"));
+                writer.commit();
+            }
+            Assertions.assertEquals(time, Files.getLastModifiedTime(a));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("When a file cannot be written none of the files is modified")
+    void testFailureLeavesTreeIntact() throws IOException {
+        final var dir = Files.createTempDirectory("geci");
+        try {
+            final var a = dir.resolve("A.java");
+            Files.write(a, List.of("class A {}"));
+            final var blocker = dir.resolve("blocker");
+            Files.write(blocker, List.of());
+            try (final var writer = new SourceWriter(2)) {
+                writer.write(source(a, "class A { int i; }"));
+                writer.write(source(blocker.resolve("B.java"), "class B {}"));
+                Assertions.assertThrows(IOException.class, writer::commit);
+            }
+            Assertions.assertEquals(List.of("class A {}"), Files.readAllLines(a));
+            Assertions.assertEquals(List.of(a, blocker), filesIn(dir));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("When a file cannot be renamed the files already renamed are restored")
+    void testRenameFailureRollsBack() throws IOException {
+        final var dir = Files.createTempDirectory("geci");
+        try {
+            final var a = dir.resolve("A.java");
+            Files.write(a, List.of("class A {}"));
+            final var c = dir.resolve("C.java");
+            final var d = dir.resolve("D.java");
+            final var inside = d.resolve("inside");
+            Files.createDirectories(d);
+            Files.write(inside, List.of());
+            try (final var writer = new SourceWriter(1)) {
+                writer.write(source(a, "class A { int i; }"));
+                writer.write(source(c, "class C {}"));
+                writer.write(source(d, "class D {}"));
+                Assertions.assertThrows(IOException.class, writer::commit);
+            }
+            Assertions.assertEquals(List.of("class A {}"), Files.readAllLines(a));
+            Assertions.assertEquals(List.of(a, inside), filesIn(dir));
+        } finally {
+            delete(dir);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package javax0.geci.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTriggerScanner {
+
+    private static ByteBuffer bytes(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("The scanner finds any of the triggers anywhere in the bytes")
+    void testContains() {
+        final var sut = new TriggerScanner(List.of("/*!jamal", "@Geci(\"árvíz"));
+        assertTrue(sut.contains(bytes("/*!jamal")));
+        assertTrue(sut.contains(bytes("class A {\n  /*!jamal\n*/}")));
+        assertTrue(sut.contains(bytes("@Geci(\"árvíztűrő\")")));
+        assertFalse(sut.contains(bytes("class A {\n  /*!jama")));
+        assertFalse(sut.contains(bytes("/* !jamal @Geci(\"arviz")));
+        assertFalse(sut.contains(bytes("")));
+    }
+
+    @Test
+    @DisplayName("The scanner reads the file and finds the trigger")
+    void testFile() {
+        final var file = Paths.get("src/test/java/javax0/geci/engine/TestTriggerScanner.java");
+        assertTrue(new TriggerScanner(List.of("TestTriggerScanner")).test(file));
+        assertFalse(new TriggerScanner(List.of("Not" + "PresentInTheFile")).test(file));
+        assertTrue(new TriggerScanner(List.of("")).test(file));
+    }
+
+    @Test
+    @DisplayName("The scanner finds the trigger crossing the boundary of the chunks the file is read in")
+    void testChunks() throws IOException {
+        final var file = Files.createTempFile("geci", ".java");
+        try {
+            for (int position = 0; position < 40; position++) {
+                Files.writeString(file, "x".repeat(position) + "/*!jamal" + "y".repeat(40 - position));
+                for (int chunkSize = 1; chunkSize < 20; chunkSize++) {
+                    assertTrue(new TriggerScanner(List.of("@Geci", "/*!jamal"), chunkSize).test(file),
+                        "position " + position + ", chunk size " + chunkSize);
+                    assertFalse(new TriggerScanner(List.of("@Geci", "/*!jamalx"), chunkSize).test(file),
+                        "position " + position + ", chunk size " + chunkSize);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
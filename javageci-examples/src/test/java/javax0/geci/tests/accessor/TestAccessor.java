@@ -22,6 +22,17 @@ class TestAccessor {
 //end snippet
 
 
+    @Test
+    void testAccessorParallel() throws Exception {
+        Geci geci;
+        Assertions.assertFalse(
+                (geci = new Geci()).parallelism(4)
+                        .source(maven().module("javageci-examples").mainSource())
+                        .register(Accessor.builder().build())
+                        .generate(),
+                geci.failed());
+    }
+
     @Test
     void testAllSourcesAccessor() throws Exception {
         Geci geci;
@@ -13,6 +13,7 @@ import javax0.jamal.tools.Input;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -41,6 +42,13 @@ public class JamalGenerator extends AbstractGeneratorEx {
     private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+(.*?)\\s*;\\s*$");
     private static final Pattern CLASS_START = Pattern.compile("^\\s*(:?private\\s+|protected\\s+|public\\s+)?class\\s+.*$");
 
+    private static final Set<String> TRIGGERS = Set.of("/*!jamal");
+
+    @Override
+    public Set<String> triggers() {
+        return TRIGGERS;
+    }
+
     @Override
     public void processEx(Source source) {
         Processor processor = null;
@@ -109,7 +117,7 @@ public class JamalGenerator extends AbstractGeneratorEx {
                 sb.deleteCharAt(i);
             }
             try (final var output = source.open()) {
-                output.write(sb.toString());
+                output.writeBlock(sb);
             }
         }
         if (processor != null) {
@@ -3,7 +3,7 @@ package javax0.geci.jamal.macros;
 import javax0.geci.jamal.macros.holders.ImportsHolder;
 import javax0.geci.jamal.util.EntityStringer;
 import javax0.geci.tools.GeciReflectionTools;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 import javax0.jamal.api.BadSyntax;
 import javax0.jamal.api.InnerScopeDependent;
 import javax0.jamal.api.Input;
@@ -55,7 +55,7 @@ public class Fields implements Macro, InnerScopeDependent {
         final var format = Params.<String>holder("$fformat", "format", "methodFormat").orElse("$class|$name|$args");
         Params.using(processor).from(this).between("()").keys(selectorPar, klassName, format).parse(in);
 
-        final var selector = Selector.compile(selectorPar.get());
+        final var selector = SelectorCache.compile(selectorPar.get());
         if (!klassName.isPresent()) {
             throw new BadSyntax("There is no class defined for the macro `fields`");
         }
@@ -3,7 +3,7 @@ package javax0.geci.jamal.macros;
 import javax0.geci.jamal.macros.holders.ImportsHolder;
 import javax0.geci.jamal.util.EntityStringer;
 import javax0.geci.tools.GeciReflectionTools;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 import javax0.jamal.api.BadSyntax;
 import javax0.jamal.api.InnerScopeDependent;
 import javax0.jamal.api.Input;
@@ -66,7 +66,7 @@ public class Methods implements Macro, InnerScopeDependent {
         if (!klassName.isPresent()) {
             throw new BadSyntax("There is no $class defined for the macro `methods`");
         }
-        final var selector = Selector.compile(selectorPar.get());
+        final var selector = SelectorCache.compile(selectorPar.get());
         final Class<?> klass;
         try {
             klass = GeciReflectionTools.classForName(klassName.get());
@@ -7,7 +7,7 @@ import javax0.geci.jamal.macros.holders.ImportsHolder;
 import javax0.geci.jamal.macros.holders.MethodHolder;
 import javax0.geci.jamal.macros.holders.MethodsHolder;
 import javax0.geci.tools.GeciReflectionTools;
-import javax0.refi.selector.Selector;
+import javax0.geci.tools.SelectorCache;
 import javax0.jamal.api.BadSyntax;
 import javax0.jamal.api.Input;
 import javax0.jamal.api.Macro;
@@ -34,7 +34,7 @@ public class Set implements Macro{
         if (isMethods.is() && isFields.is()) {
             throw new BadSyntax(format("'%s' cannot collect both methods and fields at the same time", getId()));
         }
-        final var selector = Selector.compile(only.get());
+        final var selector = SelectorCache.compile(only.get());
         final Class<?> klass;
         try {
             klass = GeciReflectionTools.classForName(klassName.get());
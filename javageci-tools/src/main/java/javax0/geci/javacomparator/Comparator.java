@@ -1,7 +1,7 @@
 package javax0.geci.javacomparator;
 
+import javax0.geci.javacomparator.lex.Cursor;
 import javax0.geci.javacomparator.lex.Lexer;
-import javax0.geci.javacomparator.lex.LexicalElement;
 
 import java.util.List;
 import java.util.function.BiPredicate;
@@ -25,6 +25,13 @@ import java.util.function.BiPredicate;
  * and/or difference is only in content of comments, or comments are
  * missing or new comments are added, and/or numbers are expressed
  * differently, but they still have the same value.</p>
+ *
+ * <p>The comparison does not analyse the whole sources. The lines that
+ * are identical at the start and at the end of the two sources are cut
+ * off (as long as the cut is not inside a multi-line comment or string,
+ * see {@link LineScanner}) and the rest of the two sources are analysed
+ * in lockstep, one lexical element at a time. The comparison stops at
+ * the first lexical element that differs.</p>
  */
 public class Comparator implements BiPredicate<List<String>, List<String>> {
     private boolean checkComments = false;
@@ -61,16 +68,52 @@ public class Comparator implements BiPredicate<List<String>, List<String>> {
         } else {
             lexer = new Lexer();
         }
-        LexicalElement[] elements1 = lexer.apply(strings1);
-        LexicalElement[] elements2 = lexer.apply(strings2);
-        if (elements1.length != elements2.length) {
-            return true;
+        final int n1 = strings1.size();
+        final int n2 = strings2.size();
+        int prefix = 0;
+        while (prefix < n1 && prefix < n2 && strings1.get(prefix).equals(strings2.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < n1 - prefix && suffix < n2 - prefix &&
+            strings1.get(n1 - 1 - suffix).equals(strings2.get(n2 - 1 - suffix))) {
+            suffix++;
+        }
+
+        final var scanner = new LineScanner();
+        int start = 0;
+        for (int i = 0; i < prefix; i++) {
+            scanner.scan(strings1.get(i));
+            if (scanner.atBoundary()) {
+                start = i + 1;
+            }
+        }
+        final var scanner1 = new LineScanner();
+        final var scanner2 = new LineScanner();
+        for (int i = start; i < n1 - suffix; i++) {
+            scanner1.scan(strings1.get(i));
+        }
+        for (int i = start; i < n2 - suffix; i++) {
+            scanner2.scan(strings2.get(i));
+        }
+        int cut = suffix;
+        while (cut > 0 && !(scanner1.atBoundary() && scanner2.atBoundary())) {
+            scanner1.scan(strings1.get(n1 - cut));
+            scanner2.scan(strings2.get(n2 - cut));
+            cut--;
         }
-        for (int i = 0; i < elements1.length; i++) {
-            if (!elements1[i].equals(elements2[i])) {
+
+        final var in1 = new Cursor(String.join("\n", strings1.subList(start, n1 - cut)));
+        final var in2 = new Cursor(String.join("\n", strings2.subList(start, n2 - cut)));
+        while (true) {
+            final var element1 = lexer.next(in1);
+            final var element2 = lexer.next(in2);
+            if (element1 == null || element2 == null) {
+                return element1 != element2;
+            }
+            if (!element1.equals(element2)) {
                 return true;
             }
         }
-        return false;
     }
 }
@@ -0,0 +1,97 @@
+package javax0.geci.javacomparator;
+
+/**
+ * <p>Follow the lines of a Java source code and tell if the end of the
+ * last line scanned is a boundary between lexical elements.</p>
+ *
+ * <p>A new line character always terminates the actual lexical element
+ * except inside a multi-line comment or inside a multi-line string.
+ * The scanner follows only these two states. It does not create any
+ * object and it is much cheaper than the lexical analysis. The {@link
+ * Comparator} uses it to find the lines, where it can cut the identical
+ * start and end of the compared sources.</p>
+ */
+class LineScanner {
+    private static final String MULTI_LINE_STRING_DELIMITER = "\"\"\"";
+
+    private enum State {
+        CODE, COMMENT, MULTI_LINE_STRING
+    }
+
+    private State state = State.CODE;
+
+    /**
+     * @return {@code true} if the end of the last scanned line is not
+     * inside a multi-line comment or multi-line string
+     */
+    boolean atBoundary() {
+        return state == State.CODE;
+    }
+
+    /**
+     * Scan the next line.
+     *
+     * @param line the line to scan
+     */
+    void scan(String line) {
+        final int n = line.length();
+        int i = 0;
+        while (i < n) {
+            switch (state) {
+                case COMMENT:
+                    final int end = line.indexOf("*/", i);
+                    if (end == -1) {
+                        i = n;
+                    } else {
+                        i = end + 2;
+                        state = State.CODE;
+                    }
+                    break;
+                case MULTI_LINE_STRING:
+                    if (line.charAt(i) == '\\') {
+                        i += 2;
+                    } else if (line.startsWith(MULTI_LINE_STRING_DELIMITER, i)) {
+                        i += MULTI_LINE_STRING_DELIMITER.length();
+                        state = State.CODE;
+                    } else {
+                        i++;
+                    }
+                    break;
+                default:
+                    i = scanCode(line, i);
+                    break;
+            }
+        }
+    }
+
+    private int scanCode(String line, int i) {
+        final char ch = line.charAt(i);
+        if (ch == '\'') {
+            return skipQuoted(line, i + 1, ch);
+        }
+        if (ch == '"') {
+            if (line.startsWith(MULTI_LINE_STRING_DELIMITER, i)) {
+                state = State.MULTI_LINE_STRING;
+                return i + MULTI_LINE_STRING_DELIMITER.length();
+            }
+            return skipQuoted(line, i + 1, ch);
+        }
+        if (ch == '/' && i + 1 < line.length()) {
+            if (line.charAt(i + 1) == '/') {
+                return line.length();
+            }
+            if (line.charAt(i + 1) == '*') {
+                state = State.COMMENT;
+                return i + 2;
+            }
+        }
+        return i + 1;
+    }
+
+    private static int skipQuoted(String line, int i, char enclosing) {
+        while (i < line.length() && line.charAt(i) != enclosing) {
+            i += line.charAt(i) == '\\' ? 2 : 1;
+        }
+        return i + 1;
+    }
+}
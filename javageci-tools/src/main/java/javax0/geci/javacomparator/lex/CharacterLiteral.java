@@ -13,25 +13,25 @@ public class CharacterLiteral implements LexEater {
     private static final char ENCLOSING = '\'';
 
     @Override
-    public LexicalElement.CharacterLiteral apply(StringBuilder sb) {
-        if (sb.length() == 0 || sb.charAt(0) != ENCLOSING) {
+    public LexicalElement.CharacterLiteral apply(Cursor in) {
+        if (in.length() == 0 || in.charAt(0) != ENCLOSING) {
             return null;
         }
-        final StringBuilder output = createOutput(sb, CHARACTER);
-        final StringBuilder original = createOutput(sb, CHARACTER);
-        sb.deleteCharAt(0);
-        while (sb.length() > 0 && sb.charAt(0) != ENCLOSING) {
-            final char ch = sb.charAt(0);
+        final StringBuilder output = createOutput(in, CHARACTER);
+        final StringBuilder original = createOutput(in, CHARACTER);
+        in.skip(1);
+        while (in.length() > 0 && in.charAt(0) != ENCLOSING) {
+            final char ch = in.charAt(0);
             if (ch == '\\') {
-                handleEscape(sb, output,original);
+                handleEscape(in, output,original);
             } else {
-                handleNormalCharacter(sb, output,original);
+                handleNormalCharacter(in, output,original);
             }
         }
-        if (sb.length() == 0) {
+        if (in.length() == 0) {
             throw new IllegalArgumentException("Character is not terminated before eol");
         }
-        sb.deleteCharAt(0);
+        in.skip(1);
         return new LexicalElement.CharacterLiteral(output.toString(),original.toString());
     }
 
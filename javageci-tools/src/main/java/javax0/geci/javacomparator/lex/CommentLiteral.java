@@ -10,38 +10,46 @@ import javax0.geci.api.GeciException;
 public class CommentLiteral implements LexEater {
 
     @Override
-    public LexicalElement apply(StringBuilder sb) {
-        if (sb.length() < 2 || sb.charAt(0) != '/' || (sb.charAt(1) != '/' && sb.charAt(1) != '*')) {
+    public LexicalElement apply(Cursor in) {
+        final int length = length(in);
+        if (length == 0) {
             return null;
         }
-        if (sb.charAt(1) == '/') {
-            return singleLineComment(sb);
+        return new LexicalElement.Comment(in.take(length));
+    }
+
+    /**
+     * @param in the input
+     * @return the length of the comment at the start of the input or
+     * zero if the input does not start with a comment
+     * @throws GeciException if the multi-line comment is not terminated
+     */
+    static int length(Cursor in) {
+        if (in.length() < 2 || in.charAt(0) != '/' || (in.charAt(1) != '/' && in.charAt(1) != '*')) {
+            return 0;
+        }
+        if (in.charAt(1) == '/') {
+            return singleLineCommentLength(in);
         }
-        return multiLineComment(sb);
+        return multiLineCommentLength(in);
     }
 
-    private LexicalElement multiLineComment(final StringBuilder sb) {
-        final var output = new StringBuilder("/*");
-        sb.delete(0, 2);
-        while (sb.length() >= 2 && (sb.charAt(0) != '*' || sb.charAt(1) != '/')) {
-            output.append(sb.charAt(0));
-            sb.deleteCharAt(0);
+    private static int multiLineCommentLength(final Cursor in) {
+        int length = 2;
+        while (length + 1 < in.length() && (in.charAt(length) != '*' || in.charAt(length + 1) != '/')) {
+            length++;
         }
-        if (sb.length() >= 2) {
-            sb.delete(0, 2);
-            output.append("*/");
-            return new LexicalElement.Comment(output.toString());
+        if (length + 1 < in.length()) {
+            return length + 2;
         }
         throw new GeciException("Comment is not terminated till end of file");
     }
 
-    private LexicalElement singleLineComment(final StringBuilder sb) {
-        final var output = new StringBuilder("//");
-        sb.delete(0, 2);
-        while (sb.length() > 0 && sb.charAt(0) != '\n' && sb.charAt(0) != '\r') {
-            output.append(sb.charAt(0));
-            sb.deleteCharAt(0);
+    private static int singleLineCommentLength(final Cursor in) {
+        int length = 2;
+        while (length < in.length() && in.charAt(length) != '\n' && in.charAt(length) != '\r') {
+            length++;
         }
-        return new LexicalElement.Comment(output.toString());
+        return length;
     }
 }
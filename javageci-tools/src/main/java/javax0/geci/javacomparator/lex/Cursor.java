@@ -0,0 +1,96 @@
+package javax0.geci.javacomparator.lex;
+
+/**
+ * A read position over an immutable {@link CharSequence} that the {@link
+ * LexEater} objects consume the input from.
+ *
+ * <p>The cursor itself is a {@link CharSequence} representing the not
+ * yet consumed part of the input. {@link #length()}, {@link
+ * #charAt(int)} and {@link #subSequence(int, int)} are all relative to
+ * the current position. Consuming characters only moves the position,
+ * the underlying character sequence is never copied or modified. That
+ * way the lexical analysis of the whole input is linear in the length
+ * of the input.
+ */
+public class Cursor implements CharSequence {
+    private final CharSequence input;
+    private int position = 0;
+
+    public Cursor(CharSequence input) {
+        this.input = input;
+    }
+
+    /**
+     * @return the number of characters consumed from the input so far
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Consume the next character.
+     *
+     * @return the character that was consumed
+     */
+    public char next() {
+        return input.charAt(position++);
+    }
+
+    /**
+     * Consume the next {@code n} characters.
+     *
+     * @param n the number of characters to step over
+     */
+    public void skip(int n) {
+        position += n;
+    }
+
+    /**
+     * Consume the next {@code n} characters.
+     *
+     * @param n the number of characters to consume
+     * @return the string of the consumed characters
+     */
+    public String take(int n) {
+        final var s = input.subSequence(position, position + n).toString();
+        position += n;
+        return s;
+    }
+
+    /**
+     * @param s the string to check
+     * @return {@code true} if the not consumed part of the input starts with the string {@code s}
+     */
+    public boolean startsWith(String s) {
+        final int len = s.length();
+        if (length() < len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (input.charAt(position + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return input.length() - position;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return input.charAt(position + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return input.subSequence(position + start, position + end);
+    }
+
+    @Override
+    public String toString() {
+        return input.subSequence(position, input.length()).toString();
+    }
+}
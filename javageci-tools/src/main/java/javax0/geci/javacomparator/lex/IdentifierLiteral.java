@@ -2,15 +2,14 @@ package javax0.geci.javacomparator.lex;
 
 public class IdentifierLiteral implements LexEater {
     @Override
-    public LexicalElement.Identifier apply(StringBuilder sb) {
-        if (sb.length() == 0 || !Character.isJavaIdentifierStart(sb.charAt(0))) {
+    public LexicalElement.Identifier apply(Cursor in) {
+        if (in.length() == 0 || !Character.isJavaIdentifierStart(in.charAt(0))) {
             return null;
         }
-        final var output = new StringBuilder();
-        while (sb.length() > 0 && Character.isJavaIdentifierPart(sb.charAt(0))) {
-            output.append(sb.charAt(0));
-            sb.deleteCharAt(0);
+        int length = 1;
+        while (length < in.length() && Character.isJavaIdentifierPart(in.charAt(length))) {
+            length++;
         }
-        return new LexicalElement.Identifier(output.toString());
+        return new LexicalElement.Identifier(in.take(length));
     }
 }
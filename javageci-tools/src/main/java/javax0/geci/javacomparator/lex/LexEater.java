@@ -3,14 +3,15 @@ package javax0.geci.javacomparator.lex;
 import java.util.function.Function;
 
 /**
- * A lex eater recognizes when the string in the input {@code
- * StringBuilder} starts with the lexical element that the specific lex
- * eater is responsible for and it removes the lexical element from the
- * start of the input. It also returns a new lexical element
- * object that was created from the string of the lexical element.
+ * A lex eater recognizes when the not yet consumed part of the input
+ * {@link Cursor} starts with the lexical element that the specific lex
+ * eater is responsible for and it consumes the lexical element moving
+ * the cursor after it. It also returns a new lexical element object
+ * that was created from the string of the lexical element.
  *
  * <p> If the lex eater could not find any lexical element that it could
- * remove from the input then it returns {@code null}
+ * consume from the input then it returns {@code null} and leaves the
+ * position of the cursor intact.
  *
  * <p>Some lewx eaters, namely the {@link CommentLiteral} and {@link
  * SpaceLiteral} return a special instance, {@code
@@ -18,6 +19,23 @@ import java.util.function.Function;
  * elements that are later used for comparision. That way the comparison
  * of the lexical elements will ignore difference in formatting and
  * comment content.
+ *
+ * <p>The {@code StringBuilder} version of the method is kept for
+ * compatibility. It removes the consumed characters from the start of
+ * the {@code StringBuilder} in a single step. When analysing a whole
+ * source use a {@link Cursor}, the way {@link Lexer} does, because
+ * deleting from the start of a {@code StringBuilder} repeatedly makes
+ * the analysis quadratic.
  */
 public interface LexEater extends Function<StringBuilder, LexicalElement> {
+
+    LexicalElement apply(Cursor in);
+
+    @Override
+    default LexicalElement apply(StringBuilder sb) {
+        final var in = new Cursor(sb);
+        final var lexicalElement = apply(in);
+        sb.delete(0, in.position());
+        return lexicalElement;
+    }
 }
@@ -44,7 +44,7 @@ public class Lexer implements Function<List<String>, LexicalElement[]> {
 
     @Override
     public LexicalElement[] apply(List<String> strings) {
-        final var code = new StringBuilder(String.join("\n", strings));
+        final var code = new Cursor(String.join("\n", strings));
         final var lexes = new ArrayList<LexicalElement>();
         while (code.length() > 0) {
             final var nextLex = next(code);
@@ -75,12 +75,27 @@ public class Lexer implements Function<List<String>, LexicalElement[]> {
         new SymbolLiteral(),
     };
 
-    private LexicalElement next(StringBuilder sb) {
+    /**
+     * Get the next lexical element from the input and move the cursor
+     * after it. Spacing and comments that the lexer ignores are stepped
+     * over without creating lexical element objects for them.
+     *
+     * <p>This method can be used to analyse the input lazily, one
+     * lexical element at a time, instead of {@link #apply(List)} that
+     * analyses the whole input.
+     *
+     * @param in the input
+     * @return the next lexical element or {@code null} if there are no
+     * more lexical elements in the input
+     * @throws IllegalArgumentException if the input cannot be analysed
+     */
+    public LexicalElement next(Cursor in) {
+        skipIgnored(in);
         boolean repeat = true;
         while (repeat) {
             repeat = false;
             for (final var lexEater : lexEaters) {
-                final var nlextElement = lexEater.apply(sb);
+                final var nlextElement = lexEater.apply(in);
                 if (nlextElement != null) {
                     if (!ignore(nlextElement)) {
                         return nlextElement;
@@ -90,13 +105,29 @@ public class Lexer implements Function<List<String>, LexicalElement[]> {
                 }
             }
         }
-        if (sb.length() > 0) {
-            throw new IllegalArgumentException("Cannot analyze Java source code at " + sb.toString());
+        if (in.length() > 0) {
+            throw new IllegalArgumentException("Cannot analyze Java source code at " + in.toString());
         }
         return null;
 
     }
 
+    private void skipIgnored(Cursor in) {
+        for (int length = ignoredLength(in); length > 0; length = ignoredLength(in)) {
+            in.skip(length);
+        }
+    }
+
+    private int ignoredLength(Cursor in) {
+        if (!spaceSensitive) {
+            final int length = SpaceLiteral.length(in);
+            if (length > 0) {
+                return length;
+            }
+        }
+        return commentSensitive ? 0 : CommentLiteral.length(in);
+    }
+
     private boolean ignore(LexicalElement nlextElement) {
         return (!spaceSensitive && nlextElement.getType() == javax0.geci.javacomparator.LexicalElement.Type.SPACING) ||
             (!commentSensitive && nlextElement.getType() == javax0.geci.javacomparator.LexicalElement.Type.COMMENT);
@@ -21,11 +21,14 @@ public class NumberLiteral implements LexEater {
     };
 
     @Override
-    public LexicalElement apply(StringBuilder sb) {
+    public LexicalElement apply(Cursor in) {
+        if (!mayStartNumber(in)) {
+            return null;
+        }
         final var literals = new String[patterns.length];
         for (int i = 0; i < patterns.length; i++) {
-            final var matcher = patterns[i].matcher(sb.toString());
-            if (matcher.find()) {
+            final var matcher = patterns[i].matcher(in);
+            if (matcher.lookingAt()) {
                 literals[i] = matcher.group(1);
             } else {
                 literals[i] = "";
@@ -43,8 +46,32 @@ public class NumberLiteral implements LexEater {
         if (maxLength == 0) {
             return null;
         }
-        sb.delete(0, maxLength);
+        in.skip(maxLength);
         return index > 1 ? new LexicalElement.FloatLiteral(literals[index])
                 : new LexicalElement.IntegerLiteral(literals[index]);
     }
+
+    /**
+     * All the patterns start with an optional sign followed by a digit.
+     * Checking this before matching spares the regular expression
+     * matching for all the symbols that are tried before {@link
+     * SymbolLiteral}.
+     *
+     * @param in the input
+     * @return {@code true} if there can be a number at the start of the input
+     */
+    private static boolean mayStartNumber(Cursor in) {
+        if (in.length() == 0) {
+            return false;
+        }
+        final char ch = in.charAt(0);
+        if (ch == '+' || ch == '-') {
+            return in.length() > 1 && isDigit(in.charAt(1));
+        }
+        return isDigit(ch);
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
 }
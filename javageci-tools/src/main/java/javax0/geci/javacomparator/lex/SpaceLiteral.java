@@ -6,15 +6,23 @@ package javax0.geci.javacomparator.lex;
  */
 public class SpaceLiteral implements LexEater {
     @Override
-    public LexicalElement apply(StringBuilder sb) {
-        if (sb.length() == 0 || !Character.isWhitespace(sb.charAt(0))) {
+    public LexicalElement apply(Cursor in) {
+        final int length = length(in);
+        if (length == 0) {
             return null;
         }
-        final var lexeme = new StringBuilder();
-        while (sb.length() > 0 && Character.isWhitespace(sb.charAt(0))) {
-            lexeme.append(sb.charAt(0));
-            sb.deleteCharAt(0);
+        return new LexicalElement.Spacing(in.take(length));
+    }
+
+    /**
+     * @param in the input
+     * @return the number of the spacing characters at the start of the input
+     */
+    static int length(Cursor in) {
+        int length = 0;
+        while (length < in.length() && Character.isWhitespace(in.charAt(length))) {
+            length++;
         }
-        return new LexicalElement.Spacing(lexeme.toString());
+        return length;
     }
 }
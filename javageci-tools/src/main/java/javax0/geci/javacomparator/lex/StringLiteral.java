@@ -21,56 +21,54 @@ public class StringLiteral implements LexEater {
     private static final String STRING = "String";
 
     @Override
-    public LexicalElement.StringLiteral apply(StringBuilder sb) {
-        if (sb.length() == 0 || sb.charAt(0) != ENCLOSING_CH) {
+    public LexicalElement.StringLiteral apply(Cursor in) {
+        if (in.length() == 0 || in.charAt(0) != ENCLOSING_CH) {
             return null;
         }
-        final var output = createOutput(sb, STRING);
-        final var original = createOutput(sb, STRING);
-        if (sb.length() >= 3 && sb.subSequence(0, 3).equals(MULTI_LINE_STRING_DELIMITER)) {
-            return getMultiLineStringLiteral(sb, output,original);
+        final var output = createOutput(in, STRING);
+        final var original = createOutput(in, STRING);
+        if (in.startsWith(MULTI_LINE_STRING_DELIMITER)) {
+            return getMultiLineStringLiteral(in, output,original);
         } else {
-            return getSimpleStringLiteral(sb, output,original);
+            return getSimpleStringLiteral(in, output,original);
         }
     }
 
-    private LexicalElement.StringLiteral getMultiLineStringLiteral(StringBuilder sb, StringBuilder output, StringBuilder original) {
-        deleteMultiLineStringDelimiter(sb);
-        while (sb.length() >= 3 && !sb.subSequence(0, 3).equals(MULTI_LINE_STRING_DELIMITER)) {
-            final char ch = sb.charAt(0);
+    private LexicalElement.StringLiteral getMultiLineStringLiteral(Cursor in, StringBuilder output, StringBuilder original) {
+        skipMultiLineStringDelimiter(in);
+        while (in.length() >= 3 && !in.startsWith(MULTI_LINE_STRING_DELIMITER)) {
+            final char ch = in.charAt(0);
             if (ch == '\\') {
-                handleEscape(sb, output, original);
+                handleEscape(in, output, original);
             } else {
-                handleNormalMultiLineStringCharacter(sb, output, original);
+                handleNormalMultiLineStringCharacter(in, output, original);
             }
         }
-        if (sb.length() < 3) {
+        if (in.length() < 3) {
             throw new IllegalArgumentException("Multi-line string is not terminated before eof");
         }
-        deleteMultiLineStringDelimiter(sb);
+        skipMultiLineStringDelimiter(in);
         return new LexicalElement.StringLiteral(output.toString(), original.toString(),MULTI_LINE_STRING_DELIMITER);
     }
 
-    private void deleteMultiLineStringDelimiter(StringBuilder sb) {
-        sb.deleteCharAt(0);
-        sb.deleteCharAt(0);
-        sb.deleteCharAt(0);
+    private void skipMultiLineStringDelimiter(Cursor in) {
+        in.skip(MULTI_LINE_STRING_DELIMITER.length());
     }
 
-    private LexicalElement.StringLiteral getSimpleStringLiteral(StringBuilder sb, StringBuilder output, StringBuilder original) {
-        sb.deleteCharAt(0);
-        while (sb.length() > 0 && sb.charAt(0) != ENCLOSING_CH) {
-            final char ch = sb.charAt(0);
+    private LexicalElement.StringLiteral getSimpleStringLiteral(Cursor in, StringBuilder output, StringBuilder original) {
+        in.skip(1);
+        while (in.length() > 0 && in.charAt(0) != ENCLOSING_CH) {
+            final char ch = in.charAt(0);
             if (ch == '\\') {
-                handleEscape(sb, output, original);
+                handleEscape(in, output, original);
             } else {
-                handleNormalCharacter(sb, output,original);
+                handleNormalCharacter(in, output,original);
             }
         }
-        if (sb.length() == 0) {
+        if (in.length() == 0) {
             throw new IllegalArgumentException("String is not terminated before eol");
         }
-        sb.deleteCharAt(0);
+        in.skip(1);
         return new LexicalElement.StringLiteral(output.toString(), original.toString(), ENCLOSING);
     }
 }
\ No newline at end of file
@@ -31,17 +31,15 @@ public class SymbolLiteral implements LexEater {
     };
 
     @Override
-    public LexicalElement apply(StringBuilder sb) {
+    public LexicalElement apply(Cursor in) {
         for( final var s : symbols ){
-            if( sb.length() >= s.length() && sb.subSequence(0,s.length()).equals(s)){
-                sb.delete(0,s.length());
+            if( in.startsWith(s)){
+                in.skip(s.length());
                 return new LexicalElement.Symbol(s);
             }
         }
-        if( sb.length() > 0 ) {
-            var s = sb.substring(0, 1);
-            sb.delete(0, 1);
-            return new LexicalElement.Symbol(s);
+        if( in.length() > 0 ) {
+            return new LexicalElement.Symbol(String.valueOf(in.next()));
         }else{
             return null;
         }
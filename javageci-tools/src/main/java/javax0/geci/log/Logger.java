@@ -1,5 +1,7 @@
 package javax0.geci.log;
 
+import java.util.function.Supplier;
+
 import static java.lang.String.format;
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
@@ -8,7 +10,16 @@ import static java.lang.System.Logger.Level.TRACE;
 import static java.lang.System.Logger.Level.WARNING;
 
 /**
- * <p>A logger proxy that is delegating all calls to the JDK9+ system logging.
+ * <p>A logger proxy that is delegating all calls to the JDK9+ system logging.</p>
+ *
+ * <p>The methods check that the level is loggable before they format the message. When the level is switched off a
+ * call costs only the check. (The varargs array of the parameters is still created by the caller.) The messages
+ * are formatted using {@link String#format(String, Object...)} and not by the system logger, because the system
+ * logger uses the {@link java.text.MessageFormat} syntax.</p>
+ *
+ * <p>The {@link Supplier} versions of the methods do not even create the message or the varargs array when the level
+ * is switched off. Use them when the message is expensive to create, for example
+ * {@code LOG.debug(() -> "segment " + segment.toString())}.</p>
  */
 public class Logger implements javax0.geci.api.Logger {
 
@@ -18,28 +29,73 @@ public class Logger implements javax0.geci.api.Logger {
         this.LOGGER = System.getLogger(forClass.getName());
     }
 
+    /**
+     * @param level the level to check
+     * @return {@code true} if a message logged on the given level will get to the output
+     */
+    public boolean isLoggable(System.Logger.Level level) {
+        return LOGGER.isLoggable(level);
+    }
+
+    private void log(System.Logger.Level level, String format, Object... params) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, format(format, params));
+        }
+    }
+
+    private void log(System.Logger.Level level, Supplier<String> message) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, message.get());
+        }
+    }
+
     @Override
     public void trace(String format, Object... params) {
-        LOGGER.log(TRACE, format(format, params));
+        log(TRACE, format, params);
+    }
+
+    @Override
+    public void trace(Supplier<String> message) {
+        log(TRACE, message);
     }
 
     @Override
     public void debug(String format, Object... params) {
-        LOGGER.log(DEBUG, format(format, params));
+        log(DEBUG, format, params);
+    }
+
+    @Override
+    public void debug(Supplier<String> message) {
+        log(DEBUG, message);
     }
 
     @Override
     public void info(String format, Object... params) {
-        LOGGER.log(INFO, format(format, params));
+        log(INFO, format, params);
+    }
+
+    @Override
+    public void info(Supplier<String> message) {
+        log(INFO, message);
     }
 
     @Override
     public void warning(String format, Object... params) {
-        LOGGER.log(WARNING, format(format, params));
+        log(WARNING, format, params);
+    }
+
+    @Override
+    public void warning(Supplier<String> message) {
+        log(WARNING, message);
     }
 
     @Override
     public void error(String format, Object... params) {
-        LOGGER.log(ERROR, format(format, params));
+        log(ERROR, format, params);
+    }
+
+    @Override
+    public void error(Supplier<String> message) {
+        log(ERROR, message);
     }
 }
@@ -3,15 +3,25 @@ package javax0.geci.log;
 /**
  * <p>Create a logger that will use the caller code's class as the logger name.</p>
  *
- * <p>The current implementation used Java 8 compatible calls, which are less performant. When Java 8 compatibility will
- * be abandoned in later versions of the application the code has to be simplified to use the StackWalker to get the
- * callers class.</p>
- *
- * <p>Note that performance creating a logger should not be an issue with the usual way of creating loggers as they are usually
- * objects referenced static and final fields and that way they get invoked only once per class.</p>
+ * <p>The loggers are cached per class, calling {@link #getLogger()} or {@link #getLogger(Class)} many times for the
+ * same class returns the same logger. {@link #getLogger()} finds the caller class using a {@link StackWalker}, which
+ * is cheap but not free. Code that needs a logger on a hot path, for example in an instance field initializer, should
+ * use {@link #getLogger(Class)} or, even better, a static final field.</p>
  */
 public class LoggerFactory {
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return new Logger(type);
+        }
+    };
+
     public static Logger getLogger() {
-        return new Logger(StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass());
+        return LOGGERS.get(WALKER.getCallerClass());
+    }
+
+    public static Logger getLogger(Class<?> forClass) {
+        return LOGGERS.get(forClass);
     }
 }
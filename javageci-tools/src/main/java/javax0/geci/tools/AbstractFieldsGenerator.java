@@ -32,8 +32,8 @@ public abstract class AbstractFieldsGenerator extends AbstractJavaGenerator {
         preprocessHook(source, klass, global);
         final var fields = declaredOnly ? GeciReflectionTools.getDeclaredFieldsSorted(klass) : GeciReflectionTools.getAllFieldsSorted(klass);
         for (final var field : fields) {
-            var params = GeciReflectionTools.getParameters(field, mnemonic());
-            processFieldHook(source, klass, new CompoundParams(params, global), field);
+            var params = annotations().getParameters(field, mnemonic());
+            processFieldHook(source, klass, new CompoundParams(params, global).freeze(), field);
         }
         processFieldHook(source, klass, global, fields);
         postprocessHook(source, klass, global);
@@ -22,21 +22,25 @@ import java.util.List;
  */
 @Geci("copyClass copyTo='AbstractFilteredMethodsGenerator.java'")
 public abstract class AbstractFilteredFieldsGenerator extends AbstractFieldsGenerator {
-    private final List<Field> fields = new ArrayList<>();
+    /**
+     * The selected fields of the class being processed. The list is thread local, because the same generator object
+     * may process different sources on different threads at the same time, see {@link javax0.geci.api.ThreadSafe}.
+     */
+    private final ThreadLocal<List<Field>> fields = ThreadLocal.withInitial(ArrayList::new);
 
     @Override
     protected final void processFieldHook(Source source, Class<?> klass, CompoundParams params, Field field)
         throws Exception {
         var filter = params.get("filter", defaultFilterExpression());
-        var selector = Selector.compile(filter);
+        var selector = SelectorCache.compile(filter);
         if (selector.match(field)) {
             processSelectedFieldHook(source, klass, params, field);
-            fields.add(field);
+            fields.get().add(field);
         }
     }
 
     /**
-     * This implementation clears the private {@code fields} field ArrayList and then passes the control to the
+     * This implementation clears the private thread local {@code fields} field list and then passes the control to the
      * method {@link #preprocess(Source, Class, CompoundParams)}. This way the original functionality is kept and
      * the method {@link #processSelectedFieldHook(Source, Class, CompoundParams, Field)} can collect the filtered
      * fields after a fresh start into the object variable {@code fields} even if the generator object was called to
@@ -51,14 +55,14 @@ public abstract class AbstractFilteredFieldsGenerator extends AbstractFieldsGene
      */
     @Override
     protected final void preprocessHook(Source source, Class<?> klass, CompoundParams global) throws Exception {
-        fields.clear();
+        fields.get().clear();
         preprocess(source, klass, global);
     }
 
     @Override
     protected final void processFieldHook(Source source, Class<?> klass, CompoundParams global, Field[] fields)
             throws Exception {
-        processSelectedFieldHook(source, klass, global, this.fields.toArray(new Field[this.fields.size()]));
+        processSelectedFieldHook(source, klass, global, this.fields.get().toArray(new Field[0]));
     }
 
     /**
@@ -23,21 +23,25 @@ import java.util.List;
  */
 
 public abstract class AbstractFilteredMethodsGenerator extends AbstractMethodsGenerator {
-    private final List<Method> methods = new ArrayList<>();
+    /**
+     * The selected methods of the class being processed. The list is thread local, because the same generator object
+     * may process different sources on different threads at the same time, see {@link javax0.geci.api.ThreadSafe}.
+     */
+    private final ThreadLocal<List<Method>> methods = ThreadLocal.withInitial(ArrayList::new);
 
     @Override
     protected final void processMethodHook(Source source, Class<?> klass, CompoundParams params, Method method)
         throws Exception {
         var filter = params.get("filter", defaultFilterExpression());
-        var selector = Selector.compile(filter);
+        var selector = SelectorCache.compile(filter);
         if (selector.match(method)) {
             processSelectedMethodHook(source, klass, params, method);
-            methods.add(method);
+            methods.get().add(method);
         }
     }
 
     /**
-     * This implementation clears the private {@code methods} method ArrayList and then passes the control to the
+     * This implementation clears the private thread local {@code methods} method list and then passes the control to the
      * method {@link #preprocess(Source, Class, CompoundParams)}. This way the original functionality is kept and
      * the method {@link #processSelectedMethodHook(Source, Class, CompoundParams, Method)} can collect the filtered
      * methods after a fresh start into the object variable {@code methods} even if the generator object was called to
@@ -52,14 +56,14 @@ public abstract class AbstractFilteredMethodsGenerator extends AbstractMethodsGe
      */
     @Override
     protected final void preprocessHook(Source source, Class<?> klass, CompoundParams global) throws Exception {
-        methods.clear();
+        methods.get().clear();
         preprocess(source, klass, global);
     }
 
     @Override
     protected final void processMethodHook(Source source, Class<?> klass, CompoundParams global, Method[] methods)
             throws Exception {
-        processSelectedMethodHook(source, klass, global, this.methods.toArray(new Method[this.methods.size()]));
+        processSelectedMethodHook(source, klass, global, this.methods.get().toArray(new Method[0]));
     }
 
     /**
@@ -1,10 +1,13 @@
 package javax0.geci.tools;
 
+import javax0.geci.api.Context;
 import javax0.geci.api.Segment;
 import javax0.geci.api.Source;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -77,7 +80,39 @@ public abstract class AbstractJavaGenerator extends AbstractGeneratorEx {
         }
     }
 
-    protected final List<Class<?>> classes = new ArrayList<>();
+    /**
+     * The classes of the sources processed in phase {@code 0}, sorted by the name of the class. The list is filled
+     * from several threads when the generator implements {@link javax0.geci.api.ThreadSafe} and the engine runs
+     * parallel. The classes are inserted in sorted position, thus the order does not depend on the order the sources
+     * were processed. The list must not be modified by the child classes.
+     */
+    protected final List<Class<?>> classes = Collections.synchronizedList(new ArrayList<>());
+
+    private static final Comparator<Class<?>> BY_NAME = Comparator.comparing(Class::getName);
+
+    private Context context;
+
+    /**
+     * Store the context. Child classes overriding this method have to call {@code super.context(context)}.
+     *
+     * @param context to be injected and to be stored by the generator
+     */
+    @Override
+    public void context(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Get the annotation index of the code generation run. Generators should query the {@code Geci} parameters and
+     * the {@code Generated} status of the classes and their members using this index instead of calling {@link
+     * GeciReflectionTools#getParameters(java.lang.reflect.AnnotatedElement, String)} and {@link
+     * GeciAnnotationTools#isGenerated(java.lang.reflect.AnnotatedElement)} directly.
+     *
+     * @return the annotation index shared by the generators via the context
+     */
+    protected AnnotationIndex annotations() {
+        return AnnotationIndex.of(context);
+    }
 
     /**
      * Child classes can override this method to return {@code true} in case they want to process a source class and
@@ -106,14 +141,14 @@ public abstract class AbstractJavaGenerator extends AbstractGeneratorEx {
         final var klass = source.getKlass();
         if (klass != null) {
             if (phase == 0) {
-                classes.add(klass);
+                addClass(klass);
             }
 
             final CompoundParams annotationParams;
-            var nullableAnnotationParams = GeciReflectionTools.getParameters(klass, mnemonic());
+            var nullableAnnotationParams = annotations().getParameters(klass, mnemonic());
             if (nullableAnnotationParams == null) {
                 Tracer.log("Parameters were not found in annotation");
-                var commentParams = GeciAnnotationTools.getParameters(source, mnemonic(), "//", CLASS_LINE);
+                var commentParams = CommentConfiguration.of(source, "//", CLASS_LINE).get(mnemonic());
                 if (commentParams == null) {
                     Tracer.log("Parameters were not found in annotation like comment");
                     annotationParams = null;
@@ -143,30 +178,38 @@ public abstract class AbstractJavaGenerator extends AbstractGeneratorEx {
             global.trace();
             Tracer.pop();
 
-            try (final var pos = Tracer.push("setting the constraint on the parameters keys=[" + (implementedKeys() == null ? "" : String.join(",", implementedKeys())) + "]")) {
+            try (final var pos = Tracer.pushLazy(() -> "setting the constraint on the parameters keys=[" + (implementedKeys() == null ? "" : String.join(",", implementedKeys())) + "]")) {
                 global.setConstraints(source, mnemonic(), implementedKeys());
             }
+            global = global.freeze();
             if (nullableAnnotationParams != null || processAllClasses()) {
                 Tracer.log("Allowing default segment");
                 source.allowDefaultSegment();
             }
             if (nullableAnnotationParams != null || editorFoldParams != null || processAllClasses()) {
-                try (final var tracePosition = Tracer.push("Start", this.getClass().getName() + ".process( source=" + klass.getName() + " )")) {
+                try (final var tracePosition = Tracer.pushLazy("Start", () -> this.getClass().getName() + ".process( source=" + klass.getName() + " )")) {
                     process(source, klass, global);
                 }
                 Tracer.prepend("Source", "[PROCESSED] ");
             } else {
-                Tracer.log("NotExecuted", "There are no annotations, no editor-fold with id='" + mnemonic() + "' and this generator processAllCasses() returns false");
+                Tracer.logLazy("NotExecuted", () -> "There are no annotations, no editor-fold with id='" + mnemonic() + "' and this generator processAllCasses() returns false");
             }
         } else {
             if (source.getAbsoluteFile().endsWith("module-info.java")) {
-                Tracer.log("ModuleInfo", source.getAbsoluteFile() + " has no class, it is not processed.");
+                Tracer.logLazy("ModuleInfo", () -> source.getAbsoluteFile() + " has no class, it is not processed.");
             } else {
-                Tracer.log("ERROR", "There is no class " + source.getKlassName() + " for " + source.getAbsoluteFile() + " skipping ");
+                Tracer.logLazy("ERROR", () -> "There is no class " + source.getKlassName() + " for " + source.getAbsoluteFile() + " skipping ");
             }
         }
     }
 
+    private void addClass(Class<?> klass) {
+        synchronized (classes) {
+            final var index = Collections.binarySearch(classes, klass, BY_NAME);
+            classes.add(index < 0 ? -index - 1 : index + 1, klass);
+        }
+    }
+
     /**
      * Concrete classes can return an immutable set of the keys that the
      * generator processes. The method {@code processEx()} checks the
@@ -33,8 +33,8 @@ public abstract class AbstractMethodsGenerator extends AbstractJavaGenerator {
         preprocessHook(source, klass, global);
         final var methods = declaredOnly ? GeciReflectionTools.getDeclaredMethodsSorted(klass) : GeciReflectionTools.getAllMethodsSorted(klass);
         for (final var method : methods) {
-            var params = GeciReflectionTools.getParameters(method, mnemonic());
-            processMethodHook(source, klass, new CompoundParams(params, global), method);
+            var params = annotations().getParameters(method, mnemonic());
+            processMethodHook(source, klass, new CompoundParams(params, global).freeze(), method);
         }
         processMethodHook(source, klass, global, methods);
         postprocessHook(source, klass, global);
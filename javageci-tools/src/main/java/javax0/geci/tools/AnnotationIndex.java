@@ -0,0 +1,136 @@
+package javax0.geci.tools;
+
+import javax0.geci.api.Context;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Index of the {@code Geci} and {@code Generated} annotations of the classes and of their members.</p>
+ *
+ * <p>Many generators process the same classes and every generator looks at the annotations of the class and of every
+ * field, method and member class. Getting the {@code Geci} annotations needs unwrapping of the repeated annotations
+ * and checking the meta annotations via reflection and then the configuration strings are parsed again and again. The
+ * index does this work once for each annotated element. It stores the {@code Geci} configuration strings, the
+ * parsed parameters for each generator mnemonic that asked for them and whether the element is annotated as
+ * generated.</p>
+ *
+ * <p>The elements are indexed per class: the annotations of a field, method or constructor are stored with the
+ * declaring class, the annotations of a class with the class itself. The data is held in a {@link ClassValue} of the
+ * index instance, thus it does not keep the classes from being collected. The index is valid during one code
+ * generation run. The engine calls {@link #reset(Context)} at the start of each run, which puts a new, empty index
+ * into the context. Different engines using different contexts do not share the index.</p>
+ *
+ * <p>The returned parameters are frozen, see {@link CompoundParams#freeze()}. They are shared by all the generators
+ * asking for the parameters of the same element and the same mnemonic.</p>
+ *
+ * <p>Generators get the index calling {@link #of(Context)} with the context that was injected into the generator.
+ * Generators extending {@link AbstractJavaGenerator} can call {@link AbstractJavaGenerator#annotations()}.</p>
+ */
+public final class AnnotationIndex {
+
+    private final ClassValue<Map<AnnotatedElement, Annotations>> cache = new ClassValue<>() {
+        @Override
+        protected Map<AnnotatedElement, Annotations> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private AnnotationIndex() {
+    }
+
+    private static AtomicReference<AnnotationIndex> holder(Context context) {
+        return context.get(AnnotationIndex.class, () -> new AtomicReference<>(new AnnotationIndex()));
+    }
+
+    /**
+     * Get the annotation index shared via the context.
+     *
+     * @param context the context injected into the generator. It may be {@code null} when the generator is used
+     *                without the engine, for example in a unit test.
+     * @return the index stored in the context, or a new index, not shared with anyone, when there is no context
+     */
+    public static AnnotationIndex of(Context context) {
+        return context == null ? new AnnotationIndex() : holder(context).get();
+    }
+
+    /**
+     * Put a new, empty index into the context. The engine calls this method at the start of each code generation
+     * run, so that the annotations indexed during a previous run, possibly on classes that were recompiled since,
+     * are not used.
+     *
+     * @param context the context that is injected into the generators
+     */
+    public static void reset(Context context) {
+        holder(context).set(new AnnotationIndex());
+    }
+
+    /**
+     * Same as {@link GeciAnnotationTools#getGecis(AnnotatedElement)}.
+     *
+     * @param element the class, field, method or other annotated element
+     * @return a new array of the configuration strings of the {@code Geci} annotations on the element
+     */
+    public String[] getGecis(AnnotatedElement element) {
+        return annotations(element).gecis.clone();
+    }
+
+    /**
+     * Same as {@link GeciReflectionTools#getParameters(AnnotatedElement, String)}, except that the returned
+     * parameters are frozen and are shared.
+     *
+     * @param element           the class, field, method or other annotated element
+     * @param generatorMnemonic the mnemonic of the generator
+     * @return the parameters of the generator, or {@code null} if the element has no {@code Geci} annotation for
+     * the generator
+     */
+    public CompoundParams getParameters(AnnotatedElement element, String generatorMnemonic) {
+        final var annotations = annotations(element);
+        return annotations.params.computeIfAbsent(generatorMnemonic, mnemonic -> {
+            for (final var string : annotations.gecis) {
+                final var params = GeciAnnotationTools.getParameters(mnemonic, string);
+                if (params != null) {
+                    return Optional.of(params.freeze());
+                }
+            }
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * Same as {@link GeciAnnotationTools#isGenerated(AnnotatedElement)}.
+     *
+     * @param element the class, field, method or other annotated element
+     * @return {@code true} if the element is annotated with a {@code Generated} annotation
+     */
+    public boolean isGenerated(AnnotatedElement element) {
+        return annotations(element).generated;
+    }
+
+    private Annotations annotations(AnnotatedElement element) {
+        final Class<?> klass;
+        if (element instanceof Class) {
+            klass = (Class<?>) element;
+        } else if (element instanceof Member) {
+            klass = ((Member) element).getDeclaringClass();
+        } else {
+            return new Annotations(element);
+        }
+        return cache.get(klass).computeIfAbsent(element, Annotations::new);
+    }
+
+    private static class Annotations {
+        final String[] gecis;
+        final boolean generated;
+        final Map<String, Optional<CompoundParams>> params = new ConcurrentHashMap<>();
+
+        Annotations(AnnotatedElement element) {
+            gecis = GeciAnnotationTools.getGecis(element);
+            generated = GeciAnnotationTools.isGenerated(element);
+        }
+    }
+}
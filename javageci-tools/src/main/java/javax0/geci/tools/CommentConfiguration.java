@@ -0,0 +1,90 @@
+package javax0.geci.tools;
+
+import javax0.geci.api.Source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * <p>The configuration of the generators written into comments in a source, like</p>
+ *
+ * <pre>
+ *   // &#64;Geci("mnemonic key='value'")
+ *   public class MyClass {
+ * </pre>
+ *
+ * <p>{@link GeciAnnotationTools#getParameters(Source, String, String, Pattern)} reads all the lines of the source
+ * looking for the configuration of one generator. When many generators process the same source every one of them
+ * scans the whole file. This class scans the lines once, collecting the configuration lines that are followed by a
+ * line matching the {@code nextLine} pattern, and the parameters of the individual generators are parsed from these
+ * few lines only. The result for a generator is the same as the one returned by {@link
+ * GeciAnnotationTools#getParameters(Source, String, String, Pattern)}, except that it is frozen, see {@link
+ * CompoundParams#freeze()}.</p>
+ *
+ * <p>The object is cached in the source, see {@link Source#cached(Object, java.util.function.Supplier)}, thus all the
+ * generators working on the source use the same instance.</p>
+ */
+public final class CommentConfiguration {
+
+    /**
+     * The groups of the consecutive configuration strings, each followed by a line matching the {@code nextLine}
+     * pattern, in the order of the source lines.
+     */
+    private final List<List<String>> groups = new ArrayList<>();
+    private final Map<String, Optional<CompoundParams>> params = new ConcurrentHashMap<>();
+
+    CommentConfiguration(List<String> lines, String prefix, Pattern nextLine) {
+        final var group = new ArrayList<String>();
+        for (final var line : lines) {
+            if (!group.isEmpty() && (nextLine == null || nextLine.matcher(line).find())) {
+                groups.add(List.copyOf(group));
+            }
+            final var match = GeciAnnotationTools.getMatch(prefix, line);
+            if (match.matches()) {
+                group.add(match.group(1));
+            } else {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Get the comment configuration of the source. The lines of the source are scanned the first time the
+     * configuration is requested with the given {@code prefix} and {@code nextLine}.
+     *
+     * @param source   the source object holding the code lines
+     * @param prefix   see {@link GeciAnnotationTools#getParameters(Source, String, String, Pattern)}
+     * @param nextLine see {@link GeciAnnotationTools#getParameters(Source, String, String, Pattern)}
+     * @return the comment configuration of the source
+     */
+    public static CommentConfiguration of(Source source, String prefix, Pattern nextLine) {
+        final var key = Arrays.asList(CommentConfiguration.class, prefix,
+            nextLine == null ? null : nextLine.pattern(), nextLine == null ? 0 : nextLine.flags());
+        return source.cached(key, () -> new CommentConfiguration(source.getLines(), prefix, nextLine));
+    }
+
+    /**
+     * Get the parameters of the generator.
+     *
+     * @param generatorMnemonic the name of the generator that needs the parameters
+     * @return the parameters or {@code null} in case there is no configuration found in the source for the generator
+     */
+    public CompoundParams get(String generatorMnemonic) {
+        return params.computeIfAbsent(generatorMnemonic, mnemonic -> {
+            for (final var group : groups) {
+                for (final var string : group) {
+                    final var params = GeciAnnotationTools.getParameters(mnemonic, string);
+                    if (params != null) {
+                        return Optional.of(params.freeze());
+                    }
+                }
+            }
+            return Optional.empty();
+        }).orElse(null);
+    }
+}
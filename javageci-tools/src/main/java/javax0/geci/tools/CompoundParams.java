@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -47,13 +48,27 @@ import static javax0.geci.api.CompoundParams.toBoolean;
  * specifies different segment id, but usually it is not the case). If
  * that editor-fold segment is named {@code "accessor"} then there is no
  * need to specify this separately in the annotation.
+ *
+ * <p> The lookup in a {@code CompoundParams} that is composed of other
+ * {@code CompoundParams} traverses the whole hierarchy every time. A
+ * parameter set that is queried many times can be flattened calling
+ * {@link #freeze()}.
  */
 public class CompoundParams implements javax0.geci.api.CompoundParams {
 
     private static final String Q = "\"";
+    private static final int MAX_CHECKED_KEYS = 1024;
+    /**
+     * The result of the allowed key checks keyed by the mnemonic, the allowed keys and the actual keys. The value is
+     * the error message without the name of the source or an empty string if all the keys are allowed.
+     */
+    private static final Map<List<Object>, String> checkedKeys = new ConcurrentHashMap<>();
     private final Map<String, List<String>>[] params;
     private final CompoundParams[] cparams;
     private final String id;
+    private final Set<String> frozenKeys;
+    private final Map<String, String> frozenValues;
+    private final Map<String, List<String>> frozenValueLists;
     private Set<String> allowedKeys = null;
     private Source source = null;
     private String mnemonic = null;
@@ -78,6 +93,9 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
         }
         this.cparams = null;
         this.id = id;
+        this.frozenKeys = null;
+        this.frozenValues = null;
+        this.frozenValueLists = null;
     }
 
     /**
@@ -132,6 +150,9 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
     public CompoundParams(CompoundParams... cparams) {
         this.params = null;
         this.cparams = cparams;
+        this.frozenKeys = null;
+        this.frozenValues = null;
+        this.frozenValueLists = null;
         this.id = find(c -> c.id, cparams);
         this.source = find(c -> c.source, cparams);
         this.mnemonic = find(c -> c.mnemonic, cparams);
@@ -141,6 +162,64 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
         }
     }
 
+    private CompoundParams(String id, Set<String> keys, Map<String, String> values,
+                           Map<String, List<String>> valueLists) {
+        this.params = null;
+        this.cparams = null;
+        this.id = id;
+        this.frozenKeys = keys;
+        this.frozenValues = values;
+        this.frozenValueLists = valueLists;
+    }
+
+    /**
+     * Create a flattened copy of this parameter set.
+     *
+     * <p> The copy contains the values, the value lists and the key set
+     * precomputed in hash maps with the same precedence as the
+     * original. Looking up a key in the copy does not traverse the
+     * underlying parameter maps and {@code CompoundParams} objects.
+     * Generators that create a new layered parameter set, like {@code
+     * new CompoundParams(local, global)}, and query it many times
+     * should use the frozen copy.
+     *
+     * <p> The copy does not follow the later changes of the underlying
+     * maps. The value lists and the key set returned by the copy
+     * cannot be modified. The constraints (the source, the mnemonic and
+     * the allowed keys) are copied.
+     *
+     * @return the flattened copy, or this object if it is already
+     * frozen
+     */
+    public CompoundParams freeze() {
+        if (frozenKeys != null) {
+            return this;
+        }
+        final var keys = Collections.unmodifiableSet(keySet());
+        final var values = new HashMap<String, String>();
+        final var valueLists = new HashMap<String, List<String>>();
+        for (final var key : keys) {
+            freeze(key, values, valueLists);
+        }
+        freeze("id", values, valueLists);
+        final var frozen = new CompoundParams(id, keys, values, valueLists);
+        frozen.source = source;
+        frozen.mnemonic = mnemonic;
+        frozen.allowedKeys = allowedKeys;
+        return frozen;
+    }
+
+    private void freeze(String key, Map<String, String> values, Map<String, List<String>> valueLists) {
+        final var value = find0(key);
+        if (value != null) {
+            values.put(key, value);
+        }
+        final var valueList = getValueList(key);
+        if (valueList != null) {
+            valueLists.put(key, Collections.unmodifiableList(new ArrayList<>(valueList)));
+        }
+    }
+
     public void trace() {
         for (final var key : keySet()) {
             Tracer.log(key, get(key));
@@ -198,8 +277,33 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
      * end it will also list the possible, allowed values.
      */
     private void checkAllowedKeys() {
+        final var keys = keySet();
+        if (checkedKeys.size() >= MAX_CHECKED_KEYS) {
+            checkedKeys.clear();
+        }
+        final var errorMessage = checkedKeys.computeIfAbsent(Arrays.asList(mnemonic, allowedKeys, keys),
+            k -> notAllowedKeysMessage(keys));
+        if (errorMessage.length() > 0) {
+            throw new GeciException(errorMessage + "\nIn source code " + source.getAbsoluteFile());
+        }
+    }
+
+    /**
+     * Create the error message listing the keys that are not allowed.
+     * The message will try to find the one from the allowed keys that
+     * is the closest to the one, which is not allowed.
+     *
+     * <p> The result of this method does not depend on the source,
+     * therefore it is cached by {@link #checkAllowedKeys()} for the
+     * mnemonic, allowed keys and actual keys combination.
+     *
+     * @param keys the actual keys of the parameter set
+     * @return the error message or an empty string if all keys are
+     * allowed
+     */
+    private String notAllowedKeysMessage(Set<String> keys) {
         final StringBuilder errorMessage = new StringBuilder();
-        for (final var key : keySet()) {
+        for (final var key : keys) {
             if (!allowedKeys.contains(key)) {
                 String closestKey = null;
                 int closestDistance = Integer.MAX_VALUE;
@@ -224,15 +328,10 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
             }
         }
         if (errorMessage.length() > 0) {
-            throw new GeciException(errorMessage.append(
-                "\nThe possible keys are:\n  ").append(
-                String.join(", ", allowedKeys))
-                                        .append("\nIn source code ")
-                                        .append(source.getAbsoluteFile())
-                                        .toString()
-            );
-
+            errorMessage.append("\nThe possible keys are:\n  ")
+                .append(String.join(", ", allowedKeys));
         }
+        return errorMessage.toString();
     }
 
     @Override
@@ -281,6 +380,20 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
      */
     private String get0(String key) {
         assertKeyAllowed(key);
+        return find0(key);
+    }
+
+    /**
+     * Get the value for the key the same way as {@link #get0(String)}
+     * does, but without checking that the key is allowed.
+     *
+     * @param key the key we search for
+     * @return the value or {@code null}
+     */
+    private String find0(String key) {
+        if (frozenValues != null) {
+            return frozenValues.get(key);
+        }
         if (params != null) {
             return Arrays.stream(params)
                        .filter(Objects::nonNull)
@@ -292,7 +405,7 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
         if (cparams != null) {
             return Arrays.stream(cparams)
                        .filter(Objects::nonNull)
-                       .map(p -> p.get0(key))
+                       .map(p -> p.find0(key))
                        .filter(Objects::nonNull)
                        .findFirst()
                        .orElse("id".equals(key) ? id : null);
@@ -335,6 +448,9 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
 
     @Override
     public List<String> getValueList(String key) {
+        if (frozenValueLists != null) {
+            return frozenValueLists.get(key);
+        }
         if (params != null) {
             return Arrays.stream(params)
                        .filter(Objects::nonNull)
@@ -386,6 +502,9 @@ public class CompoundParams implements javax0.geci.api.CompoundParams {
 
     @Override
     public Set<String> keySet() {
+        if (frozenKeys != null) {
+            return frozenKeys;
+        }
         final Stream<Set<String>> keyStream;
         if (params != null) {
             keyStream = Arrays.stream(params).filter(Objects::nonNull)
@@ -4,7 +4,6 @@ import javax0.geci.annotations.Geci;
 import javax0.geci.annotations.Generated;
 import javax0.geci.api.GeciException;
 import javax0.geci.api.Source;
-import javax0.refi.selector.Selector;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
@@ -395,7 +394,7 @@ public class GeciAnnotationTools {
      * annotation {@link Generated}).
      */
     public static boolean isGenerated(AnnotatedElement element) {
-        return Selector.compile("annotation ~ /Generated/").match(element);
+        return SelectorCache.compile("annotation ~ /Generated/").match(element);
     }
 
     /**
@@ -534,7 +533,7 @@ public class GeciAnnotationTools {
      * @param line   the line to match
      * @return the matcher of regular expression matching
      */
-    private static Matcher getMatch(String prefix, String line) {
+    static Matcher getMatch(String prefix, String line) {
         final var trimmedLine = line.trim();
         final var chopped = prefix != null && trimmedLine.startsWith(prefix) ?
             trimmedLine.substring(prefix.length()) : trimmedLine;
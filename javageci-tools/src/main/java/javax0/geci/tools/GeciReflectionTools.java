@@ -33,8 +33,8 @@ import static java.lang.reflect.Modifier.isPublic;
 public class GeciReflectionTools {
 
     public static final int PACKAGE = 0x00010000;
-    private static final Selector<?> inheritedField = Selector.compile("!static & !private");
-    private static final Selector<?> inheritedFieldDifferentPackage = Selector.compile("!static & !private & !package");
+    private static final Selector<?> inheritedField = SelectorCache.compile("!static & !private");
+    private static final Selector<?> inheritedFieldDifferentPackage = SelectorCache.compile("!static & !private & !package");
     private static final Map<String, Class<?>> PRIMITIVES = Map.of(
         "byte", byte.class,
         "char", char.class,
@@ -373,9 +373,11 @@ public class GeciReflectionTools {
      * @return the sorted array of fields
      */
     public static Field[] getDeclaredFieldsSorted(Class<?> klass) {
-        final var fields = klass.getDeclaredFields();
-        Arrays.sort(fields, Comparator.comparing(Field::getName));
-        return fields;
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.DECLARED_FIELDS, () -> {
+            final var fields = klass.getDeclaredFields();
+            Arrays.sort(fields, Comparator.comparing(Field::getName));
+            return fields;
+        });
     }
 
     /**
@@ -386,6 +388,10 @@ public class GeciReflectionTools {
      * @return the sorted array of fields
      */
     public static Field[] getAllFieldsSorted(Class<?> klass) {
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.ALL_FIELDS, () -> calculateAllFieldsSorted(klass));
+    }
+
+    private static Field[] calculateAllFieldsSorted(Class<?> klass) {
         Set<Field> allFields = new HashSet<>(Arrays.asList(klass.getDeclaredFields()));
         var samePackage = true;
         for (var currentClass = klass.getSuperclass(); currentClass != null; currentClass = currentClass.getSuperclass()) {
@@ -425,9 +431,11 @@ public class GeciReflectionTools {
      * @return the sorted array of the methods
      */
     public static Method[] getDeclaredMethodsSorted(Class<?> klass) {
-        final var methods = klass.getDeclaredMethods();
-        Arrays.sort(methods, Comparator.comparing(MethodTool::methodSignature));
-        return methods;
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.DECLARED_METHODS, () -> {
+            final var methods = klass.getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(MethodTool::methodSignature));
+            return methods;
+        });
     }
 
     /**
@@ -438,9 +446,11 @@ public class GeciReflectionTools {
      * @return the array of the methods of the class
      */
     public static Method[] getMethodsSorted(Class<?> klass) {
-        final var methods = klass.getMethods();
-        Arrays.sort(methods, Comparator.comparing(MethodTool::methodSignature));
-        return methods;
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.METHODS, () -> {
+            final var methods = klass.getMethods();
+            Arrays.sort(methods, Comparator.comparing(MethodTool::methodSignature));
+            return methods;
+        });
     }
 
     /**
@@ -453,6 +463,10 @@ public class GeciReflectionTools {
      * @return the array of the methods of the class
      */
     public static Method[] getAllMethodsSorted(final Class<?> klass) {
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.ALL_METHODS, () -> calculateAllMethodsSorted(klass));
+    }
+
+    private static Method[] calculateAllMethodsSorted(final Class<?> klass) {
         final var allMethods = new ArrayList<>(Arrays.asList(klass.getDeclaredMethods()));
         var samePackage = true;
         for (var currentClass = klass.getSuperclass(); currentClass != null; currentClass = currentClass.getSuperclass()) {
@@ -493,6 +507,10 @@ public class GeciReflectionTools {
      * order even if the code runs on different JVMs.
      */
     public static Class<?>[] getAllClassesSorted(Class<?> klass) {
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.ALL_CLASSES, () -> calculateAllClassesSorted(klass));
+    }
+
+    private static Class<?>[] calculateAllClassesSorted(Class<?> klass) {
         final var classes = Arrays.stream(klass.getClasses()).collect(Collectors.toSet());
         final var declaredClasses = Arrays.stream(klass.getDeclaredClasses()).collect(Collectors.toSet());
         final var allClasses = new HashSet<Class<?>>();
@@ -513,9 +531,11 @@ public class GeciReflectionTools {
      * @return the sorted array of the classes
      */
     public static Class<?>[] getDeclaredClassesSorted(Class<?> klass) {
-        final var classes = klass.getDeclaredClasses();
-        Arrays.sort(classes, Comparator.comparing(Class::getName));
-        return classes;
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.DECLARED_CLASSES, () -> {
+            final var classes = klass.getDeclaredClasses();
+            Arrays.sort(classes, Comparator.comparing(Class::getName));
+            return classes;
+        });
     }
 
     /**
@@ -526,9 +546,24 @@ public class GeciReflectionTools {
      * @return the array of the classes of the class
      */
     public static Class<?>[] getClassesSorted(Class<?> klass) {
-        final var classes = klass.getClasses();
-        Arrays.sort(classes, Comparator.comparing(Class::getName));
-        return classes;
+        return ReflectionCache.sorted(klass, ReflectionCache.Kind.CLASSES, () -> {
+            final var classes = klass.getClasses();
+            Arrays.sort(classes, Comparator.comparing(Class::getName));
+            return classes;
+        });
+    }
+
+    /**
+     * Drop the cached sorted fields, methods, classes and method signatures of the process wide cache.
+     *
+     * <p>The {@code get...Sorted()} methods of this class and {@link MethodTool#methodSignature(Method)} cache their
+     * results so that the generators working on the same class during a code generation share the calculated
+     * values. The returned arrays are copies of the cached ones, so the callers may modify them. The code generation
+     * engine uses a new cache for every run, see {@link ReflectionCache}. Code that uses these methods outside of the
+     * engine, and wants to release the memory of the cache, can call this method any time.</p>
+     */
+    public static void invalidateCache() {
+        ReflectionCache.invalidate();
     }
 
     public static Method getMethod(Class<?> klass, String methodName, Class<?>... classes) throws NoSuchMethodException {
@@ -46,8 +46,15 @@ public class MethodTool {
         return this;
     }
 
+    /**
+     * Get the signature of the method as created by {@link #signature()}. The signature is cached, see {@link
+     * ReflectionCache}.
+     *
+     * @param method the method
+     * @return the signature of the method
+     */
     public static String methodSignature(Method method) {
-        return with(method).signature();
+        return ReflectionCache.signature(method, m -> with(m).signature());
     }
 
     public String signature() {
@@ -0,0 +1,153 @@
+package javax0.geci.tools;
+
+import javax0.geci.api.Context;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Cache of the reflective metadata that the code generators query again and again during a code generation run:
+ * the sorted arrays of fields, methods and member classes returned by the {@code get...Sorted()} methods of {@link
+ * GeciReflectionTools} and the signature strings created by {@link MethodTool#methodSignature(Method)}.</p>
+ *
+ * <p>The cache of a code generation run is shared via the context the same way as the {@link AnnotationIndex}. The
+ * engine calls {@link #reset(Context)} at the start of each run, which puts a new, empty cache into the context, and
+ * it invokes the generators calling {@link #use()} on the cache of the run. The static methods of {@link
+ * GeciReflectionTools} and {@link MethodTool} use the cache that is in use on the current thread. When there is none,
+ * for example when the methods are called outside of the engine, they use a process wide cache, which is dropped by
+ * {@link GeciReflectionTools#invalidateCache()}. Different engines using different contexts do not share the
+ * cache.</p>
+ *
+ * <p>The entries are stored in a {@link ClassValue} of the cache instance, so they are attached to the class they
+ * describe and do not keep the class and its class loader from being collected.</p>
+ *
+ * <p>The cached arrays are never returned to the callers. The callers get a copy they are free to modify.</p>
+ */
+public final class ReflectionCache {
+
+    /**
+     * The different sorted arrays that are cached for a class.
+     */
+    enum Kind {
+        DECLARED_FIELDS, ALL_FIELDS, DECLARED_METHODS, METHODS, ALL_METHODS, ALL_CLASSES, DECLARED_CLASSES, CLASSES
+    }
+
+    /**
+     * Restores the cache that was in use on the thread before {@link #use()} was called.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<ReflectionCache> CURRENT = new ThreadLocal<>();
+
+    private static volatile ReflectionCache global = new ReflectionCache();
+
+    private final ClassValue<Entry> cache = new ClassValue<>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return new Entry();
+        }
+    };
+
+    private ReflectionCache() {
+    }
+
+    private static AtomicReference<ReflectionCache> holder(Context context) {
+        return context.get(ReflectionCache.class, () -> new AtomicReference<>(new ReflectionCache()));
+    }
+
+    /**
+     * Get the cache shared via the context.
+     *
+     * @param context the context injected into the generators
+     * @return the cache stored in the context
+     */
+    public static ReflectionCache of(Context context) {
+        return holder(context).get();
+    }
+
+    /**
+     * Put a new, empty cache into the context. The engine calls this method at the start of each code generation run.
+     *
+     * @param context the context that is injected into the generators
+     */
+    public static void reset(Context context) {
+        holder(context).set(new ReflectionCache());
+    }
+
+    /**
+     * Use this cache on the current thread until the returned scope is closed. Use it in a try-with-resources
+     * statement.
+     *
+     * @return the scope, which restores the cache used on the thread before when it is closed
+     */
+    public Scope use() {
+        final var previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Drop all the values cached in the process wide cache. The caches of the code generation runs are not affected.
+     */
+    static void invalidate() {
+        global = new ReflectionCache();
+    }
+
+    private static ReflectionCache current() {
+        final var current = CURRENT.get();
+        return current == null ? global : current;
+    }
+
+    /**
+     * Get a copy of the cached sorted array of the class, calculating it first if it is not cached yet.
+     *
+     * @param klass      the class the array belongs to
+     * @param kind       which array of the class is needed
+     * @param calculator calculates the sorted array when it is not cached
+     * @param <T>        the type of the elements of the array
+     * @return a copy of the cached array
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T[] sorted(Class<?> klass, Kind kind, Supplier<T[]> calculator) {
+        final var arrays = current().cache.get(klass).arrays;
+        var array = arrays.get(kind);
+        if (array == null) {
+            // not computeIfAbsent, calculating a sorted array may need the signatures of the same class
+            array = calculator.get();
+            final var previous = arrays.putIfAbsent(kind, array);
+            if (previous != null) {
+                array = previous;
+            }
+        }
+        return (T[]) array.clone();
+    }
+
+    /**
+     * Get the cached signature of the method, calculating it first if it is not cached yet.
+     *
+     * @param method     the method
+     * @param calculator creates the signature when it is not cached
+     * @return the signature of the method
+     */
+    static String signature(Method method, Function<Method, String> calculator) {
+        return current().cache.get(method.getDeclaringClass()).signatures.computeIfAbsent(method, calculator);
+    }
+
+    private static class Entry {
+        private final Map<Kind, Object[]> arrays = new ConcurrentHashMap<>();
+        private final Map<Method, String> signatures = new ConcurrentHashMap<>();
+    }
+}
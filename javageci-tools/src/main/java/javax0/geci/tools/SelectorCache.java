@@ -0,0 +1,67 @@
+package javax0.geci.tools;
+
+import javax0.refi.selector.Selector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Cache of the compiled selector expressions.</p>
+ *
+ * <p>The generators compile the same few filter expressions, like {@code true}, {@code !static} or {@code private &
+ * !final}, for every field, method or class they process. The selectors are immutable after they were compiled, thus
+ * the same instance can be used by all the generators even when they run in parallel.</p>
+ *
+ * <p>The selector library has its own cache, but that is a synchronized map with weakly referenced keys. All calls
+ * are serialized on the same lock and the expressions, which are usually new string objects extracted from the
+ * parameters, are dropped from it at the next garbage collection. This cache keeps the compiled selectors strongly
+ * referenced and reading it does not lock. The number of the cached selectors is limited by {@link #MAX_SIZE}. When
+ * the cache is full an arbitrary entry is dropped to make room for the new one.</p>
+ *
+ * <p>All the code that compiles a selector expression should call {@link #compile(String)} instead of {@link
+ * Selector#compile(String)}.</p>
+ */
+public final class SelectorCache {
+    /**
+     * The maximum number of selectors kept in the cache.
+     */
+    public static final int MAX_SIZE = 256;
+
+    private static final Map<String, Selector<?>> cache = new ConcurrentHashMap<>();
+
+    private SelectorCache() {
+    }
+
+    /**
+     * Get the compiled form of the selector expression. If the expression was already compiled then the cached
+     * selector is returned.
+     *
+     * @param expression the selector expression
+     * @return the compiled selector
+     * @throws IllegalArgumentException when the expression is not a valid selector expression, the same way as
+     *                                  {@link Selector#compile(String)} does
+     */
+    public static Selector<?> compile(String expression) {
+        final var cached = cache.get(expression);
+        if (cached != null) {
+            return cached;
+        }
+        final var selector = Selector.compile(expression);
+        while (cache.size() >= MAX_SIZE) {
+            final var keys = cache.keySet().iterator();
+            if (!keys.hasNext()) {
+                break;
+            }
+            cache.remove(keys.next());
+        }
+        final var previous = cache.putIfAbsent(expression, selector);
+        return previous == null ? selector : previous;
+    }
+
+    /**
+     * @return the number of the selectors currently cached
+     */
+    static int size() {
+        return cache.size();
+    }
+}
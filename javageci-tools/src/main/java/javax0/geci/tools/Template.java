@@ -1,6 +1,8 @@
 package javax0.geci.tools;
 
+import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>A very simple Moustache like (light) templating. The method {@link #resolve(String)} replaces every
@@ -26,8 +28,18 @@ import java.util.Map;
  *     <!-- end snip -->
  * </table>
  *
+ * <p>The template strings are parsed only once into a {@link Compiled} form, which is cached. Rendering the compiled
+ * form does not search the string again, it only concatenates the literal parts and the values of the
+ * placeholders. Strings that are rendered only once, for example the result of a {@code String.format()} call, should
+ * be parsed with {@link #parse(String)}, which does not put them into the cache.</p>
  */
 public class Template {
+    /**
+     * The maximum number of compiled templates kept in the cache.
+     */
+    public static final int MAX_CACHED = 1024;
+    private static final Map<String, Compiled> cache = new ConcurrentHashMap<>();
+
     final private Map<String, String> params;
 
     public Template(Map<String, String> params) {
@@ -35,24 +47,113 @@ public class Template {
     }
 
     public String resolve(String s) {
-        final StringBuilder sb = new StringBuilder(s);
+        return compile(s).render(params);
+    }
+
+    /**
+     * Get the compiled form of the template string. The compiled forms are cached. Strings that do not contain any
+     * <code>{{</code> are not cached, they are compiled to a form that renders the string itself. When the cache is
+     * full then the new templates are compiled but not cached, the templates already in the cache are kept.
+     *
+     * @param s the template string
+     * @return the compiled template
+     */
+    public static Compiled compile(String s) {
+        if (s.indexOf("{{") < 0) {
+            return parse(s);
+        }
+        final var cached = cache.get(s);
+        if (cached != null) {
+            return cached;
+        }
+        final var compiled = parse(s);
+        if (cache.size() < MAX_CACHED) {
+            cache.putIfAbsent(s, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Drop all the compiled templates from the cache.
+     */
+    static void invalidateCache() {
+        cache.clear();
+    }
+
+    /**
+     * Split the template into literal parts and placeholder keys without looking it up in the cache or putting it
+     * into the cache. The literal parts and the keys alternate, there is always one more literal than key. The search
+     * for the next <code>{{</code> starts after the <code>}}</code> of the previous placeholder. If a <code>{{</code>
+     * has no closing <code>}}</code> then the rest of the string is literal.
+     *
+     * @param s the template string
+     * @return the compiled template
+     */
+    public static Compiled parse(String s) {
+        if (s.indexOf("{{") < 0) {
+            return new Compiled(new String[]{s}, new String[0]);
+        }
+        final var literals = new ArrayList<String>();
+        final var keys = new ArrayList<String>();
         int position = 0;
         int start;
-        while ((start = sb.indexOf("{{", position)) >= 0) {
-            int end = sb.indexOf("}}",start);
-            if( end > 0 ) {
-                final var key = sb.substring(start + 2, end);
-                if( params.containsKey(key) && params.get(key) != null ){
-                    final var value = params.get(key);
-                    sb.replace(start,end+2,value);
-                    position = start + value.length();
-                }else{
-                    position = end + 2;
-                }
-            }else{
+        while ((start = s.indexOf("{{", position)) >= 0) {
+            int end = s.indexOf("}}", start);
+            if (end > 0) {
+                literals.add(s.substring(position, start));
+                keys.add(s.substring(start + 2, end));
+                position = end + 2;
+            } else {
                 break;
             }
         }
-        return sb.toString();
+        literals.add(s.substring(position));
+        return new Compiled(literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    /**
+     * <p>A template string parsed into literal parts and placeholder keys.</p>
+     *
+     * <p>The compiled templates are immutable and can be used from several threads.</p>
+     */
+    public static final class Compiled {
+        private final String[] literals;
+        private final String[] keys;
+        private final int literalLength;
+
+        private Compiled(String[] literals, String[] keys) {
+            this.literals = literals;
+            this.keys = keys;
+            int length = 0;
+            for (final var literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        /**
+         * Render the template replacing the placeholders with the values from the map. Placeholders that have no
+         * value, or the value is {@code null}, remain in the output as they are.
+         *
+         * @param params the values of the placeholders
+         * @return the rendered string
+         */
+        public String render(Map<String, String> params) {
+            if (keys.length == 0) {
+                return literals[0];
+            }
+            final var values = new String[keys.length];
+            int length = literalLength;
+            for (int i = 0; i < keys.length; i++) {
+                final var value = params.get(keys[i]);
+                values[i] = value == null ? "{{" + keys[i] + "}}" : value;
+                length += values[i].length();
+            }
+            final var sb = new StringBuilder(length);
+            for (int i = 0; i < keys.length; i++) {
+                sb.append(literals[i]).append(values[i]);
+            }
+            return sb.append(literals[keys.length]).toString();
+        }
     }
 }
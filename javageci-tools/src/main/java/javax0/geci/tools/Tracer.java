@@ -9,8 +9,13 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * <p>Tracing the execution of code generation.</p>
@@ -52,47 +57,224 @@ import java.util.ArrayList;
  * Note that when using Java::Geci generators the {@link javax0.geci.api.Geci#trace(String)} call will switch
  * the tracing on and at the end of the code generator the tracing will be switched off again.</p>
  *
+ * <p>The methods {@link #logLazy(String, Supplier)}, {@link #pushLazy(String, Supplier)}, {@link
+ * #appendLazy(Supplier)} and their variants get the message as a {@link Supplier}. The supplier is invoked only when
+ * the tracing is switched on. Use these methods when the message is calculated, for example concatenated from several
+ * parts, so that the message is not created when the tracing is off, which is the usual case:</p>
+ *
+ * <pre>{@code
+ *   Tracer.logLazy("Source", () -> "[TOUCHED]" + source.getAbsoluteFile());
+ * }</pre>
+ *
+ * <p>Keeping all the nodes in memory until the end of the code generation needs a lot of memory when the project is
+ * large. When the tracing is switched on calling {@link #on(Writer, int)} or {@link #on(String, int)} then the nodes
+ * are written to the output while the code generation runs. Only the nodes that can still be modified (the last node
+ * and the nodes on the path from the root to it) and at most a fixed number of finished nodes are kept in memory. The
+ * output is the same XML as the one created by {@link #dumpXML(String)}, except that when the message of a node is
+ * modified (see {@link #append(String, String)}) after the node was already written then the final message is written
+ * as a {@code <message-update msg="..."/>} child at the end of the node. The streaming has to be finished calling
+ * {@link #finish()}, which writes the closing tags.</p>
+ *
+ * <p>The same methods also have a {@code maxDepth} argument. Nodes deeper than this level are not created at all. It
+ * makes it possible to trace long runs cheaply keeping only the top levels of the trace. The depth of the root node is
+ * zero. When a node is not created, because it is too deep, then the following {@code append()} and {@code
+ * prepend()} calls are ignored up to the next node that is created.</p>
+ *
  */
 public class Tracer implements AutoCloseable {
     private static class TracerPop extends RuntimeException {
     }
     private static final Logger log = LoggerFactory.getLogger();
     private static final String DEFAULT_TAG = "log";
+    private static final int STREAM_BUFFER_SIZE = 1000;
     private static Tracer root;
     private static Tracer current;
     private static Tracer last;
     private String popTrace;
     private static final Tracer FAKE = new Tracer(null, null, null, null);
+    private static int maxDepth = Integer.MAX_VALUE;
+    private static int suppressed;
+    private static Writer stream;
+    private static int streamBufferSize;
+    private static int buffered;
+    private static IOException streamError;
 
     private final Tracer parent;
     private final ArrayList<Tracer> children = new ArrayList<>();
     private String message;
     private final String tag;
     private final String cData;
+    private final int depth;
+    private boolean opened;
+    private String writtenMessage;
 
     private Tracer(Tracer parent, String message, String tag, String cData) {
         this.parent = parent;
         this.message = message;
         this.tag = tag;
         this.cData = cData;
+        this.depth = parent == null ? 0 : parent.depth + 1;
     }
 
     /**
      * Reset the tracer subsystem and switch it on.
      */
     public static void on() {
+        closeStream();
         root = new Tracer(null, "tracer root", "trace", null);
+        maxDepth = Integer.MAX_VALUE;
+        suppressed = 0;
+        streamError = null;
         resetCurrentAndLast();
     }
 
     /**
-     * Reset the tracer subsystem and switch it off.
+     * Reset the tracer subsystem and switch it on writing the trace into the file while the code generation runs.
+     *
+     * @param fileName the name of the file where the trace is written. If the file already exists it will be
+     *                 overwritten.
+     * @param maxDepth the nodes deeper than this are not created. Use {@link Integer#MAX_VALUE} for no limit.
+     * @throws IOException if the file cannot be opened
+     */
+    public static void on(String fileName, int maxDepth) throws IOException {
+        on(Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8), maxDepth);
+    }
+
+    /**
+     * Reset the tracer subsystem and switch it on writing the trace into the {@code out} while the code generation
+     * runs. The writer is closed by {@link #finish()}.
+     *
+     * @param out      where the XML formatted trace is written to
+     * @param maxDepth the nodes deeper than this are not created. Use {@link Integer#MAX_VALUE} for no limit.
+     */
+    public static void on(Writer out, int maxDepth) {
+        on(out, maxDepth, STREAM_BUFFER_SIZE);
+    }
+
+    static void on(Writer out, int maxDepth, int bufferSize) {
+        on();
+        Tracer.maxDepth = maxDepth;
+        stream = out;
+        streamBufferSize = bufferSize;
+        buffered = 0;
+    }
+
+    /**
+     * Reset the tracer subsystem and switch it off. If the trace was streamed then the output is closed without
+     * writing the rest of the trace, use {@link #finish()} to finish the output.
      */
     public static void off() {
+        closeStream();
         root = null;
         resetCurrentAndLast();
     }
 
+    /**
+     * Write the nodes not written yet and the closing tags into the output that was given in {@link #on(Writer,
+     * int)} or {@link #on(String, int)}, close the output and switch the tracing off. If the tracing was not streamed
+     * then this method does nothing.
+     *
+     * @throws IOException if the output cannot be written, or could not be written during the code generation
+     */
+    public static void finish() throws IOException {
+        if (stream == null) {
+            if (streamError != null) {
+                final var e = streamError;
+                streamError = null;
+                throw e;
+            }
+            return;
+        }
+        try (final var out = stream) {
+            writeNode(root);
+        } finally {
+            stream = null;
+            off();
+        }
+    }
+
+    /**
+     * @return {@code true} if the trace is written to the output while the code generation runs
+     */
+    public static boolean isStreaming() {
+        return stream != null;
+    }
+
+    private static void closeStream() {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+            }
+            stream = null;
+        }
+    }
+
+    /**
+     * Called after a new node was created. When there are too many nodes in memory then all the nodes, which are not
+     * on the path from the root to the new node, are written to the output and are removed from the memory. The
+     * nodes on the path are still modifiable. Their opening tags are written, but they are kept in memory.
+     */
+    private static void created() {
+        if (stream == null || ++buffered < streamBufferSize) {
+            return;
+        }
+        final var path = new ArrayList<Tracer>();
+        for (var node = last; node != null; node = node.parent) {
+            path.add(0, node);
+        }
+        try {
+            for (int i = 0; i < path.size() - 1; i++) {
+                final var node = path.get(i);
+                final var next = path.get(i + 1);
+                if (!node.opened) {
+                    openNode(node);
+                }
+                for (final var child : node.children) {
+                    if (child != next) {
+                        writeNode(child);
+                    }
+                }
+                node.children.clear();
+                node.children.add(next);
+            }
+        } catch (IOException e) {
+            streamError = e;
+            off();
+        }
+        buffered = path.size();
+    }
+
+    private static void openNode(Tracer node) throws IOException {
+        stream.write(" ".repeat(2 * node.depth) + "<" + node.tag + messageAttribute(node.message) + ">\n");
+        node.opened = true;
+        node.writtenMessage = node.message;
+    }
+
+    private static void writeNode(Tracer node) throws IOException {
+        if (node.opened) {
+            for (final var child : node.children) {
+                writeNode(child);
+            }
+            final var tab = " ".repeat(2 * node.depth);
+            if (!Objects.equals(node.message, node.writtenMessage)) {
+                stream.write(tab + "  <message-update" + messageAttribute(node.message) + "/>\n");
+            }
+            stream.write(tab + "</" + node.tag + ">\n");
+        } else {
+            final var sb = new StringBuilder();
+            dumpXML(node, sb, 2 * node.depth);
+            stream.write(sb.toString());
+        }
+    }
+
+    /**
+     * @return {@code true} if the tracing is switched on, {@code false} otherwise
+     */
+    public static boolean isOn() {
+        return root != null;
+    }
+
     private static void resetCurrentAndLast() {
         current = root;
         last = root;
@@ -178,6 +360,27 @@ public class Tracer implements AutoCloseable {
         last.message = last.message + msg;
     }
 
+    /**
+     * The same as {@link #append(String, String)} but the message is calculated only when the tracing is on.
+     *
+     * @param tag the name of the tag to which want to append the text
+     * @param msg the supplier of the message
+     */
+    public static void appendLazy(final String tag, final Supplier<String> msg) {
+        if (last == null) return;
+        append(tag, msg.get());
+    }
+
+    /**
+     * The same as {@link #append(String)} but the message is calculated only when the tracing is on.
+     *
+     * @param msg the supplier of the message
+     */
+    public static void appendLazy(final Supplier<String> msg) {
+        if (last == null) return;
+        append(msg.get());
+    }
+
     /**
      * Log a message. The tag will be {@code log}
      *
@@ -197,6 +400,27 @@ public class Tracer implements AutoCloseable {
         log(tag, msg, null);
     }
 
+    /**
+     * The same as {@link #log(String)} but the message is calculated only when the tracing is on.
+     *
+     * @param msg the supplier of the message
+     */
+    public static void logLazy(final Supplier<String> msg) {
+        if (root == null) return;
+        log(DEFAULT_TAG, msg.get());
+    }
+
+    /**
+     * The same as {@link #log(String, String)} but the message is calculated only when the tracing is on.
+     *
+     * @param tag the tag of the node
+     * @param msg the supplier of the message
+     */
+    public static void logLazy(final String tag, final Supplier<String> msg) {
+        if (root == null) return;
+        log(tag, msg.get(), null);
+    }
+
     /**
      * Log a message with the given tag and the cData.
      *
@@ -206,7 +430,12 @@ public class Tracer implements AutoCloseable {
      */
     public static void log(final String tag, final String msg, String cData) {
         if (root == null) return;
+        if (current.depth >= maxDepth) {
+            last = null;
+            return;
+        }
         current.children.add(last = new Tracer(current, msg, tag, cData));
+        created();
     }
 
     /**
@@ -229,18 +458,64 @@ public class Tracer implements AutoCloseable {
     public static Tracer push(String tag, String msg) {
         if (root == null) return FAKE;
         final var actual = current;
+        if (current.depth >= maxDepth) {
+            suppressed++;
+            last = null;
+            return actual;
+        }
         last = new Tracer(current, msg, tag, null);
         current.children.add(last);
         current = last;
+        created();
         return actual;
     }
 
+    /**
+     * The same as {@link #push(String)} but the message is calculated only when the tracing is on.
+     *
+     * @param msg the supplier of the message
+     * @return the current node that can be passed to {@link #pop(Tracer)}.
+     */
+    public static Tracer pushLazy(Supplier<String> msg) {
+        if (root == null) return FAKE;
+        return push(DEFAULT_TAG, msg.get());
+    }
+
+    /**
+     * The same as {@link #push(String, String)} but the message is calculated only when the tracing is on.
+     *
+     * @param tag is the tag of the node under which the new log nodes will get
+     * @param msg the supplier of the message
+     * @return the current node that can be passed to {@link #pop(Tracer)}.
+     */
+    public static Tracer pushLazy(String tag, Supplier<String> msg) {
+        if (root == null) return FAKE;
+        return push(tag, msg.get());
+    }
+
+    /**
+     * The same as {@link #push(String, String)} but the tag and the message are calculated only when the tracing is
+     * on. Use it when the tag is also calculated.
+     *
+     * @param tag the supplier of the tag
+     * @param msg the supplier of the message
+     * @return the current node that can be passed to {@link #pop(Tracer)}.
+     */
+    public static Tracer pushLazy(Supplier<String> tag, Supplier<String> msg) {
+        if (root == null) return FAKE;
+        return push(tag.get(), msg.get());
+    }
+
     /**
      * Return one level higher. If it is not possible to return one level higher then the method will create a new
      * GeciException and insert it as a cData node
      */
     public static void pop() {
         if (root == null) return;
+        if (suppressed > 0) {
+            suppressed--;
+            return;
+        }
         if (current.parent != null) {
             current.popTrace = new TracerPop().getStackTrace()[1].toString();
             current = current.parent;
@@ -259,6 +534,10 @@ public class Tracer implements AutoCloseable {
      */
     public static void pop(Tracer actual) {
         if (root == null) return;
+        if (suppressed > 0 && actual == current) {
+            suppressed--;
+            return;
+        }
         Tracer stepper;
         for (stepper = current.parent; stepper != null && stepper != actual; stepper = stepper.parent) ;
         if (stepper == null) {
@@ -331,7 +610,8 @@ public class Tracer implements AutoCloseable {
     }
 
     /**
-     * Convert the current trace to xml formatted text and write it into a StringBuilder.
+     * Convert the current trace to xml formatted text and write it into a StringBuilder. When the trace is streamed
+     * then only the nodes that were not written yet are in the memory and only those are converted.
      *
      * @param sb the output where the string will be put
      */
@@ -345,7 +625,7 @@ public class Tracer implements AutoCloseable {
             sb.append(" ".repeat(tab)).append("<FATAL message=\"Nesting of trace messages is too deep, probably internal error.\"/>");
             return;
         }
-        final String messageTag = node.message != null ? " msg=\"" + escape(node.message) + "\"" : "";
+        final String messageTag = messageAttribute(node.message);
         if (node.children.isEmpty()) {
             if (node.cData == null) {
                 sb.append(" ".repeat(tab)).append("<").append(node.tag).append(messageTag).append("/>").append("\n");
@@ -361,6 +641,10 @@ public class Tracer implements AutoCloseable {
         }
     }
 
+    private static String messageAttribute(String message) {
+        return message != null ? " msg=\"" + escape(message) + "\"" : "";
+    }
+
     private static String escape(String s) {
         return s.replace("&","&amp;")
             .replace("<","&lt;")
@@ -98,4 +98,40 @@ class TestComparator {
                 "        sb.append(FAILED).append('\\n');";
         Assertions.assertFalse( new Comparator().commentSensitive().test(sourceList(s1), sourceList(s2)));
     }
+
+    @Test
+    @DisplayName("Identical lines are not cut off inside a multi-line comment")
+    void testIdenticalLinesInsideComment(){
+        final var s1 = "int a;\n/*\nx\n*/ int b;";
+        final var s2 = "int a;\n/*\ny\n*/ int b;";
+        Assertions.assertFalse( new Comparator().test(sourceList(s1), sourceList(s2)));
+        Assertions.assertTrue( new Comparator().commentSensitive().test(sourceList(s1), sourceList(s2)));
+    }
+
+    @Test
+    @DisplayName("Identical lines at the end are not cut off when the preceding lines open a comment only in one of the sources")
+    void testIdenticalEndAfterCommentStart(){
+        final var s1 = "x\n/*\nint c; // */\ny";
+        final var s2 = "x\nint d;\nint c; // */\ny";
+        Assertions.assertTrue( new Comparator().test(sourceList(s1), sourceList(s2)));
+        final var s3 = "x\n/*\nint c; // */\ny";
+        final var s4 = "x\n/* other\nint c; // */\ny";
+        Assertions.assertFalse( new Comparator().test(sourceList(s3), sourceList(s4)));
+    }
+
+    @Test
+    @DisplayName("Identical lines are not cut off inside a multi-line string")
+    void testIdenticalLinesInsideMultiLineString(){
+        final var s1 = "var s = \"\"\"\na\n\"\"\";";
+        final var s2 = "var s = \"\"\"\nb\n\"\"\";";
+        Assertions.assertTrue( new Comparator().test(sourceList(s1), sourceList(s2)));
+    }
+
+    @Test
+    @DisplayName("Sources that differ only in the number of lexical elements at the end differ")
+    void testExtraElement(){
+        Assertions.assertTrue( new Comparator().test(sourceList("int a;\n}"), sourceList("int a;\n}\n}")));
+        Assertions.assertTrue( new Comparator().test(sourceList("int a;\n}\n}"), sourceList("int a;\n}")));
+        Assertions.assertFalse( new Comparator().test(sourceList("int a;\n}"), sourceList("int a;\n}\n")));
+    }
 }
@@ -46,7 +46,7 @@ public class TestEscape {
     @Test
     @DisplayName("handleNormalCharacter handles normal characters fine")
     void handleNormalCharacter() {
-        final StringBuilder sb = new StringBuilder("a");
+        final Cursor sb = new Cursor("a");
         final StringBuilder output = new StringBuilder();
         final StringBuilder original = new StringBuilder();
         Escape.handleNormalCharacter(sb, output, original);
@@ -58,7 +58,7 @@ public class TestEscape {
     @Test
     @DisplayName("handleNormalCharacter throws exception in case of \n")
     void handleNormalCharacterThrowsUpOnNewLine() {
-        final StringBuilder sb = new StringBuilder("\n");
+        final Cursor sb = new Cursor("\n");
         final StringBuilder output = new StringBuilder();
         final StringBuilder original = new StringBuilder();
         Assertions.assertThrows(GeciException.class,() -> Escape.handleNormalCharacter(sb, output, original));
@@ -67,7 +67,7 @@ public class TestEscape {
     @Test
     @DisplayName("handleNormalCharacter throws exception in case of \r")
     void handleNormalCharacterThrowsUpOnLineFeed() {
-        final StringBuilder sb = new StringBuilder("\r");
+        final Cursor sb = new Cursor("\r");
         final StringBuilder output = new StringBuilder();
         final StringBuilder original = new StringBuilder();
         Assertions.assertThrows(GeciException.class,() -> Escape.handleNormalCharacter(sb, output, original));
@@ -76,7 +76,7 @@ public class TestEscape {
     @Test
     @DisplayName("handleNormalMultiLineStringCharacter functions as needed")
     void handleNormalMultiLineStringCharacterWorks() {
-        final StringBuilder sb = new StringBuilder("a\n\r\nb\r\rc\rd");
+        final Cursor sb = new Cursor("a\n\r\nb\r\rc\rd");
         final StringBuilder output = new StringBuilder();
         final StringBuilder original = new StringBuilder();
         while (sb.length() > 0)
@@ -0,0 +1,76 @@
+package javax0.geci.javacomparator.lex;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TestLexer {
+
+    private static final String[] SAMPLE = {
+        "package javax0.geci.sample;",
+        "/**",
+        " * Sample class used to measure the lexer.",
+        " */",
+        "public class Sample {",
+        "    // single line comment",
+        "    private static final String TEXT = \"string \\\"with\\\" escapes\\n\";",
+        "    private final char c = '\\'';",
+        "    int method(int a, long b) {",
+        "        return a >>>= 0x7F + (int) 1.5e3 - b++ ;",
+        "    }",
+        "}",
+    };
+
+    private static List<String> source(int copies) {
+        final var lines = new ArrayList<String>(copies * SAMPLE.length);
+        for (int i = 0; i < copies; i++) {
+            lines.addAll(List.of(SAMPLE));
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("The lexer recognizes all the lexical elements and ignores space and comments by default")
+    void testLexer() {
+        final var lexemes = new Lexer().apply(List.of("int a = 13; // comment", "/* c */ String s = \"x\";"));
+        final var sb = new StringBuilder();
+        for (final var lexeme : lexemes) {
+            sb.append(lexeme.toString()).append(' ');
+        }
+        Assertions.assertEquals("IDENTIFIER[int] IDENTIFIER[a] SYMBOL[=] INTEGER[13] SYMBOL[;] " +
+            "IDENTIFIER[String] IDENTIFIER[s] SYMBOL[=] STRING[x] SYMBOL[;] ", sb.toString());
+    }
+
+    @Test
+    @DisplayName("Space and comment sensitive lexer returns the space and comment elements")
+    void testSensitiveLexer() {
+        final var lexemes = new Lexer().spaceSensitive().commentSensitive().apply(List.of("a /* c */"));
+        Assertions.assertEquals(3, lexemes.length);
+        Assertions.assertEquals(" ", lexemes[1].lexeme);
+        Assertions.assertEquals("/* c */", lexemes[2].lexeme);
+    }
+
+    /**
+     * Lexes sources of growing size. The number of the lexical elements has to grow with the size of the source and
+     * the same elements are recognized in every copy of the sample. The performance of the lexer on large sources is
+     * measured by the benchmark {@code JavaComparatorBenchmark.lex}.
+     */
+    @Test
+    @DisplayName("Large sources are lexed the same way as the small ones")
+    void testLargeSource() {
+        final var single = new Lexer().apply(source(1));
+        Assertions.assertEquals(51, single.length);
+        for (int copies = 10; copies <= 10_000; copies *= 10) {
+            final var lexemes = new Lexer().apply(source(copies));
+            Assertions.assertEquals(copies * single.length, lexemes.length);
+            for (int i = 0; i < single.length; i++) {
+                final var last = lexemes[(copies - 1) * single.length + i];
+                Assertions.assertEquals(single[i].type, last.type);
+                Assertions.assertEquals(single[i].lexeme, last.lexeme);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package javax0.geci.log;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+public class TestLogger {
+
+    private static class Collector extends Handler {
+        final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void publish(LogRecord record) {
+            messages.add(record.getLevel() + ":" + record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    @DisplayName("The loggers are cached per class")
+    void testLoggersAreCached() {
+        final var logger = LoggerFactory.getLogger();
+        Assertions.assertSame(logger, LoggerFactory.getLogger());
+        Assertions.assertSame(logger, LoggerFactory.getLogger(TestLogger.class));
+        Assertions.assertNotSame(logger, LoggerFactory.getLogger(Logger.class));
+    }
+
+    @Test
+    @DisplayName("Messages on switched off levels are not formatted and the suppliers are not invoked")
+    void testSwitchedOffLevelsDoNothing() {
+        final var julLogger = java.util.logging.Logger.getLogger(TestLogger.class.getName());
+        final var collector = new Collector();
+        julLogger.setUseParentHandlers(false);
+        julLogger.addHandler(collector);
+        julLogger.setLevel(Level.INFO);
+        try {
+            final var sut = LoggerFactory.getLogger(TestLogger.class);
+            Assertions.assertFalse(sut.isLoggable(System.Logger.Level.DEBUG));
+            Assertions.assertTrue(sut.isLoggable(System.Logger.Level.INFO));
+            sut.trace("%d", "this would throw if it was formatted");
+            sut.debug("%d", "this would throw if it was formatted");
+            sut.trace(() -> Assertions.fail("supplier of a switched off level was invoked"));
+            sut.debug(() -> Assertions.fail("supplier of a switched off level was invoked"));
+            sut.info("%s=%d", "a", 1);
+            sut.warning(() -> "lazy warning");
+            sut.error("error %s", "formatted");
+            Assertions.assertEquals(List.of("INFO:a=1", "WARNING:lazy warning", "SEVERE:error formatted"), collector.messages);
+        } finally {
+            julLogger.removeHandler(collector);
+            julLogger.setUseParentHandlers(true);
+            julLogger.setLevel(null);
+        }
+    }
+}
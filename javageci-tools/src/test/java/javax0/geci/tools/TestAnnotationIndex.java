@@ -0,0 +1,79 @@
+package javax0.geci.tools;
+
+import javax0.geci.annotations.Geci;
+import javax0.geci.annotations.Generated;
+import javax0.geci.api.Context;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class TestAnnotationIndex {
+
+    @Geci("aaa a='b'")
+    @Geci("xxx x='y'")
+    private static class Annotated {
+        @Geci("aaa z='1'")
+        private int field;
+
+        @Generated("aaa")
+        public void method() {
+        }
+    }
+
+    @Test
+    @DisplayName("The index returns the same values as the annotation tools")
+    void testSameAsTools() throws NoSuchFieldException, NoSuchMethodException {
+        final var sut = AnnotationIndex.of(null);
+        final var field = Annotated.class.getDeclaredField("field");
+        final var method = Annotated.class.getDeclaredMethod("method");
+        Assertions.assertArrayEquals(GeciAnnotationTools.getGecis(Annotated.class), sut.getGecis(Annotated.class));
+        Assertions.assertEquals("b", sut.getParameters(Annotated.class, "aaa").get("a"));
+        Assertions.assertEquals("y", sut.getParameters(Annotated.class, "xxx").get("x"));
+        Assertions.assertEquals("aaa", sut.getParameters(Annotated.class, "aaa").get("id"));
+        Assertions.assertNull(sut.getParameters(Annotated.class, "zzz"));
+        Assertions.assertEquals("1", sut.getParameters(field, "aaa").get("z"));
+        Assertions.assertNull(sut.getParameters(method, "aaa"));
+        Assertions.assertFalse(sut.isGenerated(field));
+        Assertions.assertTrue(sut.isGenerated(method));
+    }
+
+    @Test
+    @DisplayName("The parameters are parsed once per run and element")
+    void testParsedOnce() throws NoSuchFieldException {
+        final var context = new MapContext();
+        final var sut = AnnotationIndex.of(context);
+        final var params = sut.getParameters(Annotated.class, "aaa");
+        Assertions.assertSame(params, sut.getParameters(Annotated.class, "aaa"));
+        Assertions.assertSame(sut.getParameters(Annotated.class.getDeclaredField("field"), "aaa"),
+            sut.getParameters(Annotated.class.getDeclaredField("field"), "aaa"));
+        AnnotationIndex.reset(context);
+        Assertions.assertSame(params, sut.getParameters(Annotated.class, "aaa"));
+        Assertions.assertNotSame(params, AnnotationIndex.of(context).getParameters(Annotated.class, "aaa"));
+    }
+
+    @Test
+    @DisplayName("The index is shared via the context and every context has its own index")
+    void testContext() {
+        final var context = new MapContext();
+        final var sut = AnnotationIndex.of(context);
+        Assertions.assertSame(sut, AnnotationIndex.of(context));
+        Assertions.assertNotSame(sut, AnnotationIndex.of(new MapContext()));
+        Assertions.assertNotSame(sut, AnnotationIndex.of(null));
+        AnnotationIndex.reset(context);
+        Assertions.assertNotSame(sut, AnnotationIndex.of(context));
+    }
+
+    private static class MapContext implements Context {
+        private final Map<Object, Object> map = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T get(Object key, Supplier<T> ini) {
+            return (T) map.computeIfAbsent(key, k -> ini.get());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package javax0.geci.tools;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class TestCommentConfiguration {
+
+    private static final Pattern CLASS_LINE = Pattern.compile("class\\s+[a-zA-Z_][\\w$]*\\s*.*\\{\\s*$");
+
+    @Test
+    @DisplayName("The parameters are the same as the ones found scanning the source for the generator")
+    void testSameAsScanning() {
+        final List<List<String>> sources = List.of(
+            List.of("// @Geci(\"aaa a='1'\")",
+                "// @Geci(\"bbb b='1'\")",
+                "// @Geci(\"aaa a='2'\")",
+                "public class A {",
+                "}"),
+            List.of("// @Geci(\"aaa a='1'\")",
+                "int i;",
+                "// @Geci(\"bbb b='1'\")",
+                "class B {",
+                "// @Geci(\"aaa a='2'\")",
+                "  class C {"),
+            List.of("package x;",
+                "    // @Geci(\"aaa\")",
+                "// @Geci(\"aaab b='3'\")",
+                "class D {",
+                "// @Geci(\"bbb b='2'\")"),
+            List.of()
+        );
+        for (final var lines : sources) {
+            final var source = new TestSource(lines);
+            for (final var nextLine : new Pattern[]{CLASS_LINE, null}) {
+                final var sut = new CommentConfiguration(lines, "//", nextLine);
+                for (final var mnemonic : List.of("aaa", "aaab", "bbb", "ccc")) {
+                    final var expected = GeciAnnotationTools.getParameters(source, mnemonic, "//", nextLine);
+                    final var actual = sut.get(mnemonic);
+                    if (expected == null) {
+                        Assertions.assertNull(actual, lines + " " + mnemonic);
+                    } else {
+                        Assertions.assertNotNull(actual, lines + " " + mnemonic);
+                        Assertions.assertEquals(expected.keySet(), actual.keySet(), lines + " " + mnemonic);
+                        for (final var key : expected.keySet()) {
+                            Assertions.assertEquals(expected.get(key), actual.get(key), lines + " " + mnemonic);
+                        }
+                        Assertions.assertSame(actual, sut.get(mnemonic));
+                    }
+                }
+            }
+        }
+    }
+
+    private static class TestSource extends AbstractTestSource {
+        private final List<String> lines;
+
+        private TestSource(List<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public List<String> getLines() {
+            return lines;
+        }
+    }
+}
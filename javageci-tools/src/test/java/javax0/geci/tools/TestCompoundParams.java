@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 public class TestCompoundParams {
@@ -139,6 +140,52 @@ public class TestCompoundParams {
         Assertions.assertDoesNotThrow(() -> sut.setConstraints(source, mnemonic, new HashSet<>(Arrays.asList("a", "b", "c", "d", "e"))));
     }
 
+    @Test
+    @DisplayName("The cached result of the key check still reports the source")
+    void testConstrainingKeysRepeatedly() {
+        final var source = new TestSource();
+        final var allowed = new HashSet<>(Arrays.asList("a", "c", "e"));
+        for (int i = 0; i < 2; i++) {
+            final var sut = new CompoundParams("theId", Map.of("a", "1", "b", "2"));
+            final var exception = Assertions.assertThrows(GeciException.class, () -> sut.setConstraints(source, "TestGen", allowed));
+            Assertions.assertTrue(exception.getMessage().contains("'b' can not be used with the generator TestGen"));
+            Assertions.assertTrue(exception.getMessage().endsWith("In source code ABSOLUTE_TEST_FILE"));
+        }
+    }
+
+    @Test
+    @DisplayName("The frozen copy returns the same values as the layered original")
+    void testFreeze() {
+        final var sut = new CompoundParams(
+            null,
+            new CompoundParams(null, Map.of("a", "1")),
+            new CompoundParams("theId",
+                Map.of("a", "2", "b", "2")),
+            new CompoundParams("otherID-no one cares",
+                Map.of("a", "4", "b", "4", "c", List.of("5", "6"), "id", "explicit"))
+        );
+        final var frozen = sut.freeze();
+        Assertions.assertSame(frozen, frozen.freeze());
+        Assertions.assertEquals(sut.keySet(), frozen.keySet());
+        for (final var key : Arrays.asList("a", "b", "c", "id", "nonexistent")) {
+            Assertions.assertEquals(sut.get(key), frozen.get(key), key);
+            Assertions.assertEquals(sut.getValueList(key), frozen.getValueList(key), key);
+        }
+        Assertions.assertEquals("theId", frozen.get("id"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.keySet().add("x"));
+    }
+
+    @Test
+    @DisplayName("The frozen copy keeps the constraints")
+    void testFreezeConstraints() {
+        final var sut = new CompoundParams("theId", Map.of("a", "1"));
+        sut.setConstraints(new TestSource(), "TestGen", new HashSet<>(Arrays.asList("a", "b")));
+        final var frozen = sut.freeze();
+        Assertions.assertEquals("1", frozen.get("a"));
+        Assertions.assertThrows(GeciException.class, () -> frozen.get("c"));
+        Assertions.assertThrows(GeciException.class, () -> new CompoundParams(new CompoundParams("x", Map.of("c", "")), frozen));
+    }
+
     private static class TestSource extends AbstractTestSource {
         @Override
         public String getAbsoluteFile() {
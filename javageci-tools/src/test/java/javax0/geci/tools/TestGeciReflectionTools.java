@@ -1,5 +1,6 @@
 package javax0.geci.tools;
 
+import javax0.geci.api.Context;
 import javax0.geci.api.Logger;
 import javax0.geci.api.Source;
 import javax0.geci.tools.basepackage.childpackage.ChildClass;
@@ -16,6 +17,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -374,6 +376,64 @@ public class TestGeciReflectionTools {
         Assertions.assertEquals("myGeci k1='v1'", gecis[1]);
     }
 
+    @Test
+    @DisplayName("The sorted arrays are cached and the callers get copies they can modify")
+    void testSortedArraysAreCachedCopies() {
+        final var methods = GeciReflectionTools.getAllMethodsSorted(ChildClass.class);
+        final var expected = methods.clone();
+        methods[0] = null;
+        final var again = GeciReflectionTools.getAllMethodsSorted(ChildClass.class);
+        Assertions.assertNotSame(methods, again);
+        Assertions.assertArrayEquals(expected, again);
+        Assertions.assertSame(expected[0], again[0]);
+        final var fields = GeciReflectionTools.getDeclaredFieldsSorted(TestGeciReflectionTools.class);
+        Arrays.fill(fields, null);
+        Assertions.assertNotNull(GeciReflectionTools.getDeclaredFieldsSorted(TestGeciReflectionTools.class)[0]);
+    }
+
+    @Test
+    @DisplayName("Invalidating the cache recalculates the sorted arrays and the signatures")
+    void testInvalidateCache() throws NoSuchMethodException {
+        final var method = TestGeciReflectionTools.class.getDeclaredMethod("testInvalidateCache");
+        final var signature = MethodTool.methodSignature(method);
+        Assertions.assertSame(signature, MethodTool.methodSignature(method));
+        final var methods = GeciReflectionTools.getDeclaredMethodsSorted(TestGeciReflectionTools.class);
+        GeciReflectionTools.invalidateCache();
+        final var signatureAgain = MethodTool.methodSignature(method);
+        Assertions.assertNotSame(signature, signatureAgain);
+        Assertions.assertEquals(signature, signatureAgain);
+        final var methodsAgain = GeciReflectionTools.getDeclaredMethodsSorted(TestGeciReflectionTools.class);
+        Assertions.assertArrayEquals(methods, methodsAgain);
+        Assertions.assertNotSame(methods[0], methodsAgain[0]);
+    }
+
+    @Test
+    @DisplayName("The cache of a run is used only where it is in use and is not dropped by invalidating the cache")
+    void testRunCache() throws NoSuchMethodException {
+        final var method = TestGeciReflectionTools.class.getDeclaredMethod("testRunCache");
+        final var map = new HashMap<Object, Object>();
+        final var context = new Context() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T get(Object key, Supplier<T> ini) {
+                return (T) map.computeIfAbsent(key, k -> ini.get());
+            }
+        };
+        final var global = MethodTool.methodSignature(method);
+        final var cache = ReflectionCache.of(context);
+        Assertions.assertSame(cache, ReflectionCache.of(context));
+        final String signature;
+        try (final var scope = cache.use()) {
+            signature = MethodTool.methodSignature(method);
+            Assertions.assertNotSame(global, signature);
+            GeciReflectionTools.invalidateCache();
+            Assertions.assertSame(signature, MethodTool.methodSignature(method));
+        }
+        Assertions.assertNotSame(signature, MethodTool.methodSignature(method));
+        ReflectionCache.reset(context);
+        Assertions.assertNotSame(cache, ReflectionCache.of(context));
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     public @interface Geci {
         String value();
@@ -0,0 +1,33 @@
+package javax0.geci.tools;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestSelectorCache {
+
+    @Test
+    @DisplayName("The same selector instance is returned for the same expression")
+    void testSameInstance() throws NoSuchFieldException {
+        final var selector = SelectorCache.compile("private & !final");
+        Assertions.assertSame(selector, SelectorCache.compile(new String("private & !final")));
+        Assertions.assertTrue(selector.match(TestSelectorCache.class.getDeclaredField("field")));
+    }
+
+    @Test
+    @DisplayName("The number of the cached selectors is limited")
+    void testBounded() {
+        for (int i = 0; i < 2 * SelectorCache.MAX_SIZE; i++) {
+            SelectorCache.compile("name ~ /field" + i + "/");
+        }
+        Assertions.assertTrue(SelectorCache.size() <= SelectorCache.MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("Invalid expressions throw the same exception as the selector library")
+    void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SelectorCache.compile("private &"));
+    }
+
+    private int field;
+}
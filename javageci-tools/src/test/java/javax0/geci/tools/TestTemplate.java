@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 public class TestTemplate {
@@ -55,4 +56,34 @@ public class TestTemplate {
         // end snippet
     }
 
+    @Test
+    @DisplayName("The compiled form is cached and it does not rescan the inserted values")
+    void compiledTest() {
+        final var compiled = Template.compile("{{{a}} {{a}}{{b}}}}");
+        Assertions.assertSame(compiled, Template.compile(new String("{{{a}} {{a}}{{b}}}}")));
+        final var params = new HashMap<String, String>();
+        params.put("a", "{{b}}");
+        params.put("b", null);
+        params.put("{a", "x");
+        Assertions.assertEquals("x {{b}}{{b}}}}", compiled.render(params));
+        Assertions.assertEquals("no placeholder", Template.compile("no placeholder").render(params));
+    }
+
+    @Test
+    @DisplayName("Parsed templates are not cached and a full cache keeps the cached templates")
+    void parseTest() {
+        Template.invalidateCache();
+        try {
+            final var hot = Template.compile("{{hot}}");
+            final var parsed = Template.parse("{{once}}");
+            Assertions.assertNotSame(parsed, Template.parse("{{once}}"));
+            Assertions.assertEquals("x", parsed.render(Map.of("once", "x")));
+            for (int i = 0; i <= Template.MAX_CACHED; i++) {
+                Template.compile("{{a}}" + i);
+            }
+            Assertions.assertSame(hot, Template.compile("{{hot}}"));
+        } finally {
+            Template.invalidateCache();
+        }
+    }
 }
@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.function.Supplier;
+
 class TestTracer {
 
     public static final String CLASS_LOG_PREFIX = "geci\\.tools[@.\\-\\w\\d]*?/";
@@ -54,6 +58,44 @@ class TestTracer {
         }
     }
 
+    @Test
+    @DisplayName("Message suppliers are not invoked when tracing is switched off")
+    void testSuppliersNotInvokedWhenSwitchedOff() {
+        try (final var testFile = testOutput()) {
+            Tracer.off();
+            final Supplier<String> failing = () -> {
+                throw new AssertionError("The supplier must not be invoked");
+            };
+            try (final var pos = Tracer.pushLazy(failing, failing)) {
+                Tracer.pushLazy("tag", failing);
+                Tracer.logLazy(failing);
+                Tracer.logLazy("TAG", failing);
+                Tracer.appendLazy(failing);
+                Tracer.appendLazy("tag", failing);
+            }
+            Tracer.dumpXML(testFile.stringBuilder());
+            Assertions.assertEquals("", testFile.content());
+        }
+    }
+
+    @Test
+    @DisplayName("Message suppliers create the same trace as the messages")
+    void testSupplierLogging() {
+        try (final var testFile = testOutput()) {
+            Tracer.on();
+            try (final var pos = Tracer.pushLazy(() -> "TAG", () -> "Abraka")) {
+                Tracer.logLazy("LOG", () -> "dabra");
+                Tracer.appendLazy("TAG", () -> " dabra");
+            }
+            Tracer.dumpXML(testFile.stringBuilder());
+            Assertions.assertEquals("<trace msg=\"tracer root\">\n" +
+                "  <TAG msg=\"Abraka dabra\">\n" +
+                "    <LOG msg=\"dabra\"/>\n" +
+                "  </TAG>\n" +
+                "</trace>\n", testFile.content());
+        }
+    }
+
     @Test
     @DisplayName("A simple log trace is created using a Tracer.log() call.")
     void testSimpleLogging() {
@@ -431,4 +473,74 @@ class TestTracer {
                 "</trace>\n"));
         }
     }
+
+    private static void traceSomething() {
+        for (int i = 0; i < 5; i++) {
+            try (final var pos = Tracer.push("Source", "source " + i)) {
+                Tracer.log("Line", "line " + i);
+                try (final var pos2 = Tracer.push("Generator", "generator " + i)) {
+                    Tracer.log("Line", "generated " + i);
+                    Tracer.log("Data", null, "cdata " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The streamed trace is the same as the one dumped at the end")
+    void testStreaming() throws IOException {
+        Tracer.on();
+        traceSomething();
+        final var sb = new StringBuilder();
+        Tracer.dumpXML(sb);
+        for (int bufferSize = 1; bufferSize < 30; bufferSize++) {
+            final var out = new StringWriter();
+            Tracer.on(out, Integer.MAX_VALUE, bufferSize);
+            traceSomething();
+            Tracer.finish();
+            Assertions.assertEquals(sb.toString(), out.toString());
+            Assertions.assertFalse(Tracer.isOn());
+        }
+    }
+
+    @Test
+    @DisplayName("The message of a node modified after the node was streamed is written at the end of the node")
+    void testStreamingMessageUpdate() throws IOException {
+        final var out = new StringWriter();
+        Tracer.on(out, Integer.MAX_VALUE, 1);
+        try (final var pos = Tracer.push("tag", "Abraka")) {
+            Tracer.log("dabra");
+            Tracer.append("tag", " dabra");
+        }
+        Tracer.finish();
+        Assertions.assertEquals("<trace msg=\"tracer root\">\n" +
+            "  <tag msg=\"Abraka\">\n" +
+            "    <log msg=\"dabra\"/>\n" +
+            "    <message-update msg=\"Abraka dabra\"/>\n" +
+            "  </tag>\n" +
+            "</trace>\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("Nodes deeper than the maximum depth are not traced")
+    void testMaxDepth() throws IOException {
+        final var out = new StringWriter();
+        Tracer.on(out, 1);
+        traceSomething();
+        try (final var pos = Tracer.push("Top", "top")) {
+            Tracer.log("too deep");
+            Tracer.append(" ignored");
+        }
+        Tracer.log("Bottom", "bottom");
+        Tracer.finish();
+        Assertions.assertEquals("<trace msg=\"tracer root\">\n" +
+            "  <Source msg=\"source 0\"/>\n" +
+            "  <Source msg=\"source 1\"/>\n" +
+            "  <Source msg=\"source 2\"/>\n" +
+            "  <Source msg=\"source 3\"/>\n" +
+            "  <Source msg=\"source 4\"/>\n" +
+            "  <Top msg=\"top\"/>\n" +
+            "  <Bottom msg=\"bottom\"/>\n" +
+            "</trace>\n", out.toString());
+    }
 }